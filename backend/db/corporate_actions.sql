@@ -0,0 +1,34 @@
+-- Local dividend and split history, for deployments that run with ddl-auto: validate (prod profile).
+-- Apply before starting the new version: psql "$DATABASE_URL" -f backend/db/corporate_actions.sql
+-- Safe to run more than once.
+
+CREATE TABLE IF NOT EXISTS dividend_event (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    symbol           varchar(10)      NOT NULL,
+    ex_dividend_date date             NOT NULL,
+    cash_amount      double precision NOT NULL,
+    -- Polygon's dividend ID; a corrected amount updates the row with the same ID
+    provider_id      varchar(100)     NOT NULL,
+    CONSTRAINT uk_dividend_event_symbol_provider_id UNIQUE (symbol, provider_id)
+);
+CREATE INDEX IF NOT EXISTS idx_dividend_event_symbol_date ON dividend_event (symbol, ex_dividend_date);
+
+CREATE TABLE IF NOT EXISTS stock_split_event (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    symbol         varchar(10) NOT NULL,
+    execution_date date        NOT NULL,
+    split_from     integer,
+    split_to       integer,
+    CONSTRAINT uk_stock_split_event_symbol_date UNIQUE (symbol, execution_date)
+);
+
+-- Sync watermark per symbol and action type
+CREATE TABLE IF NOT EXISTS corporate_action_sync_state (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    symbol          varchar(10)  NOT NULL,
+    action_type     varchar(16)  NOT NULL CHECK (action_type IN ('DIVIDEND', 'SPLIT')),
+    covered_from    date         NOT NULL,
+    last_event_date date,
+    synced_at       timestamp(6) NOT NULL,
+    CONSTRAINT uk_corporate_action_sync_state_symbol_type UNIQUE (symbol, action_type)
+);
@@ -0,0 +1,25 @@
+-- Saved analysis schema changes for deployments that run with ddl-auto: validate (prod profile).
+-- Apply before starting the new version: psql "$DATABASE_URL" -f backend/db/saved_analysis.sql
+-- Safe to run more than once.
+
+-- IDs are drawn by Hibernate in blocks of 50 (allocationSize on DdmAnalysis/ChowderAnalysis).
+CREATE SEQUENCE IF NOT EXISTS ddm_analysis_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS chowder_analysis_seq START WITH 1 INCREMENT BY 50;
+
+-- Start above the IDs the old identity columns handed out: after setval(seq, max_id) the next
+-- block is max_id + 1 .. max_id + 50. A sequence is never moved backwards.
+SELECT setval('ddm_analysis_seq', t.max_id)
+FROM (SELECT max(id) AS max_id FROM ddm_analysis) t, ddm_analysis_seq s
+WHERE t.max_id > s.last_value OR (t.max_id = s.last_value AND NOT s.is_called);
+
+SELECT setval('chowder_analysis_seq', t.max_id)
+FROM (SELECT max(id) AS max_id FROM chowder_analysis) t, chowder_analysis_seq s
+WHERE t.max_id > s.last_value OR (t.max_id = s.last_value AND NOT s.is_called);
+
+-- Keyset pagination of a user's saved analyses (ORDER BY created_at DESC, id DESC after a cursor).
+-- CONCURRENTLY keeps the tables writable while the index builds; it cannot run in a transaction
+-- block, so do not wrap this script in one.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ddm_analysis_user_created
+    ON ddm_analysis (user_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chowder_analysis_user_created
+    ON chowder_analysis (user_id, created_at DESC, id DESC);
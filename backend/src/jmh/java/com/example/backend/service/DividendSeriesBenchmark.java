@@ -0,0 +1,82 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ChowderResultView;
+import com.example.backend.dto.DividendDto;
+import com.example.backend.dto.StockSplitDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Split adjustment and Chowder scoring over synthetic dividend histories.
+ *
+ * Dividends are quarterly and newest first, as Polygon returns them; splits are spread
+ * evenly over the history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DividendSeriesBenchmark {
+
+    @Param({"6", "30", "100"})
+    private int years;
+
+    @Param({"0", "4", "32"})
+    private int splitCount;
+
+    private List<DividendDto> dividends;
+    private List<StockSplitDto> splits;
+    private DividendSeries series;
+    private LocalDate oneYearAgo;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        dividends = new ArrayList<>(years * 4);
+        for (int quarter = 0; quarter < years * 4; quarter++) {
+            LocalDate exDate = today.minusMonths(3L * quarter);
+            dividends.add(new DividendDto(0.25 + 0.01 * (years * 4 - quarter), exDate.toString()));
+        }
+
+        splits = new ArrayList<>(splitCount);
+        long historyDays = years * 365L;
+        for (int i = 1; i <= splitCount; i++) {
+            LocalDate executionDate = today.minusDays(historyDays * i / (splitCount + 1));
+            splits.add(new StockSplitDto(executionDate.toString(), i % 2 == 0 ? 2 : 3, 1));
+        }
+
+        series = DividendSeries.of(dividends, splits);
+        oneYearAgo = today.minusDays(365);
+    }
+
+    @Benchmark
+    public DividendSeries adjustForSplits() {
+        return DividendSeries.of(dividends, splits);
+    }
+
+    @Benchmark
+    public DividendSeries.Summary summarize() {
+        return series.summarize(oneYearAgo);
+    }
+
+    @Benchmark
+    public ChowderResultView chowderScore() {
+        return MarketDataService.calculateChowderScore(DividendSeries.of(dividends, splits), 150.0);
+    }
+}
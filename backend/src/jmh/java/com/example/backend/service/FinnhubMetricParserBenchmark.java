@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AnnualMetric;
+import com.example.backend.dto.LatestAnnualMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latest annual metric extraction from a full Finnhub /stock/metric?metric=all payload.
+ *
+ * The synthetic payload mirrors the real one: a snapshot "metric" object, and annual and
+ * quarterly series for every metric we read plus as many we skip. The Jackson tree read
+ * is the baseline the streaming parser replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinnhubMetricParserBenchmark {
+
+    private static final int SNAPSHOT_METRICS = 130;
+
+    @Param({"20", "40"})
+    private int years;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        List<String> keys = new ArrayList<>();
+        for (AnnualMetric metric : AnnualMetric.values()) {
+            keys.add(metric.getKey());
+            keys.add(metric.getKey() + "Ttm");
+        }
+
+        StringBuilder json = new StringBuilder("{\"metric\":{");
+        for (int i = 0; i < SNAPSHOT_METRICS; i++) {
+            json.append(i == 0 ? "" : ",").append("\"snapshot").append(i).append("\":").append(i * 1.5);
+        }
+        json.append("},\"metricType\":\"all\",\"series\":{\"annual\":");
+        appendSeries(json, keys, years, 12);
+        json.append(",\"quarterly\":");
+        appendSeries(json, keys, years * 4, 3);
+        json.append("},\"symbol\":\"AAPL\"}");
+        payload = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendSeries(StringBuilder json, List<String> keys, int points, int monthsPerPoint) {
+        json.append('{');
+        for (int k = 0; k < keys.size(); k++) {
+            json.append(k == 0 ? "" : ",").append('"').append(keys.get(k)).append("\":[");
+            for (int p = 0; p < points; p++) {
+                int months = p * monthsPerPoint;
+                json.append(p == 0 ? "" : ",")
+                        .append("{\"period\":\"").append(2025 - months / 12).append('-')
+                        .append(String.format("%02d", 12 - months % 12)).append("-28\",\"v\":")
+                        .append(k + p * 0.01).append('}');
+            }
+            json.append(']');
+        }
+        json.append('}');
+    }
+
+    @Benchmark
+    public LatestAnnualMetrics streamingParse() throws IOException {
+        return FinnhubMetricParser.parse(payload);
+    }
+
+    @Benchmark
+    public JsonNode jacksonTreeBaseline() throws IOException {
+        return objectMapper.readTree(payload);
+    }
+}
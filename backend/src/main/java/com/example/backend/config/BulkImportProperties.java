@@ -0,0 +1,18 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulk import of saved analyses (app.bulk-import.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bulk-import")
+public class BulkImportProperties {
+
+    /** Most rows accepted in one import request. */
+    private int maxRows = 5000;
+
+    /** Rows written per transaction; a failed chunk is rolled back without affecting the others. */
+    private int chunkSize = 500;
+}
@@ -0,0 +1,141 @@
+package com.example.backend.config;
+
+import com.example.backend.dto.BasicFinancialsView;
+import com.example.backend.dto.ChowderResultView;
+import com.example.backend.dto.DdmDataView;
+import com.example.backend.dto.QuoteView;
+import com.example.backend.service.Versioned;
+import com.example.backend.util.CorrelationId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache configuration for upstream market data.
+ * Provides size-bounded, per-endpoint caches keyed by normalized symbol.
+ * Hit, miss and eviction counters are published as "cache.*" metrics.
+ * Also provides the executor used to refresh these caches, and enables the
+ * scheduled popularity decay and prewarming.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(MarketDataProperties.class)
+public class CacheConfig {
+
+    /**
+     * Cache for sanitized quotes. Short TTL so prices stay current.
+     *
+     * @param properties market data properties
+     * @param meterRegistry registry for cache metrics
+     * @return quote cache
+     */
+    @Bean
+    public Cache<String, QuoteView> quoteCache(MarketDataProperties properties, MeterRegistry meterRegistry) {
+        return buildCache("quotes", properties.getCache().getQuote(), meterRegistry);
+    }
+
+    /**
+     * Cache for sanitized fundamentals. Long TTL since the data changes rarely.
+     * With stale-while-revalidate enabled, entries are kept past their TTL for up to
+     * the max-stale period so they can be served while a refresh runs.
+     *
+     * @param properties market data properties
+     * @param meterRegistry registry for cache metrics
+     * @return fundamentals cache
+     */
+    @Bean
+    public Cache<String, BasicFinancialsView> fundamentalsCache(MarketDataProperties properties, MeterRegistry meterRegistry) {
+        MarketDataProperties.Cache cacheProperties = properties.getCache();
+        MarketDataProperties.Entry entry = cacheProperties.getFundamentals();
+        Duration retention = cacheProperties.isFundamentalsStaleWhileRevalidate()
+                ? entry.getTtl().plus(cacheProperties.getFundamentalsMaxStale())
+                : entry.getTtl();
+        return buildCache("fundamentals", entry.getMaxSize(), retention, meterRegistry);
+    }
+
+    /**
+     * Cache for Chowder Rule results with their version, so repeated and conditional
+     * requests are answered without recomputing.
+     *
+     * @param properties market data properties
+     * @param meterRegistry registry for cache metrics
+     * @return Chowder result cache
+     */
+    @Bean
+    public Cache<String, Versioned<ChowderResultView>> chowderCache(MarketDataProperties properties, MeterRegistry meterRegistry) {
+        return buildCache("chowder", properties.getCache().getAnalysis(), meterRegistry);
+    }
+
+    /**
+     * Cache for DDM data with its version, so repeated and conditional requests are
+     * answered without recomputing.
+     *
+     * @param properties market data properties
+     * @param meterRegistry registry for cache metrics
+     * @return DDM data cache
+     */
+    @Bean
+    public Cache<String, Versioned<DdmDataView>> ddmCache(MarketDataProperties properties, MeterRegistry meterRegistry) {
+        return buildCache("ddm", properties.getCache().getAnalysis(), meterRegistry);
+    }
+
+    /**
+     * Bounded executor for background cache refreshes.
+     * Uses a fixed number of threads and a bounded queue; submissions beyond that are
+     * rejected so refresh work can never pile up behind a slow upstream.
+     *
+     * @param properties market data properties
+     * @return refresh executor
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService cacheRefreshExecutor(MarketDataProperties properties) {
+        MarketDataProperties.Cache cacheProperties = properties.getCache();
+        return fixedPool(cacheProperties.getRefreshThreads(), cacheProperties.getRefreshQueueCapacity(),
+                "cache-refresh-", new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Fixed-size pool with a bounded queue whose tasks run with the submitting thread's
+     * MDC, so their log lines keep the request's correlation ID.
+     */
+    private static ExecutorService fixedPool(int threads, int queueCapacity, String namePrefix,
+                                             RejectedExecutionHandler rejectionPolicy) {
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name(namePrefix, 0).daemon(true).factory(),
+                rejectionPolicy) {
+            @Override
+            public void execute(Runnable command) {
+                super.execute(CorrelationId.wrap(command));
+            }
+        };
+    }
+
+    private <V> Cache<String, V> buildCache(String name, MarketDataProperties.Entry entry, MeterRegistry meterRegistry) {
+        return buildCache(name, entry.getMaxSize(), entry.getTtl(), meterRegistry);
+    }
+
+    private <V> Cache<String, V> buildCache(String name, long maxSize, Duration retention, MeterRegistry meterRegistry) {
+        Cache<String, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.backend.config;
+
+import com.example.backend.exception.ErrorResponse;
+import com.example.backend.util.SymbolUtils;
+import com.example.backend.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client rate limiting for the public market data endpoints (/api/market/**).
+ *
+ * Every client gets its own token bucket, keyed by the authenticated user from
+ * {@link ClerkJwtAuthFilter} or by remote address for anonymous callers (the client's own
+ * address behind the proxy, see server.forward-headers-strategy), so one client
+ * cannot drain the shared upstream quota for everyone else. Requests cost tokens in
+ * proportion to the upstream calls they cause: an analysis (Chowder, DDM) needs a quote,
+ * dividends and splits, so it costs 3; a batch quote or quote stream costs one per symbol.
+ *
+ * Buckets live in a size-bounded cache with lock-free reads, and are evicted once a
+ * client has been idle long enough for its bucket to be full again. Rejected requests
+ * get 429 Too Many Requests with a Retry-After header.
+ */
+@Component
+public class ClientRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String MARKET_PATH = "/api/market/";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final double burst;
+    private final Duration refillPeriod;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> buckets;
+
+    @Autowired
+    public ClientRateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.requests-per-minute:60}") int requestsPerMinute,
+            @Value("${app.rate-limit.burst:20}") int burst,
+            @Value("${app.rate-limit.max-clients:100000}") long maxClients) {
+        this(objectMapper, enabled, requestsPerMinute, burst, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimitFilter(ObjectMapper objectMapper, boolean enabled, int requestsPerMinute, int burst,
+                          long maxClients, LongSupplier clock) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalStateException("app.rate-limit.requests-per-minute and burst must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.burst = burst;
+        this.refillPeriod = Duration.ofMinutes(1).multipliedBy(burst).dividedBy(requestsPerMinute);
+        this.clock = clock;
+        // A bucket idle for a full refill period is full again, so dropping it changes nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(refillPeriod)
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !path(request).startsWith(MARKET_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+
+        TokenBucket bucket = buckets.get(clientKey(request), key -> new TokenBucket(burst, refillPeriod, clock));
+        // A request larger than the burst could never pass, so charge at most a full bucket
+        double cost = Math.min(costOf(request), burst);
+
+        if (!bucket.tryAcquire(cost)) {
+            long retryAfter = Math.max(1, (long) Math.ceil(bucket.nanosUntilAvailable(cost) / 1e9));
+            reject(request, response, retryAfter);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Identifies the caller for per-client limits.
+     *
+     * @return "user:&lt;id&gt;" for authenticated callers, otherwise "ip:&lt;remote address&gt;", which
+     *         is the forwarded client address when the request came through a trusted proxy
+     */
+    public static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Number of tokens a request costs, roughly the number of upstream calls it can cause.
+     */
+    private int costOf(HttpServletRequest request) {
+        String path = path(request);
+        if (path.startsWith(MARKET_PATH + "chowder/") || path.startsWith(MARKET_PATH + "ddm/")) {
+            return 3;
+        }
+        if (path.equals(MARKET_PATH + "quotes") || path.equals(MARKET_PATH + "stream/quotes")) {
+            String[] symbols = request.getParameterValues("symbols");
+            if (symbols == null) {
+                return 1;
+            }
+            long count = Arrays.stream(symbols)
+                    .flatMap(value -> Arrays.stream(value.split(",")))
+                    .map(SymbolUtils::normalize)
+                    .filter(symbol -> !symbol.isEmpty())
+                    .distinct()
+                    .count();
+            return (int) Math.max(1, count);
+        }
+        return 1;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Rate limit exceeded. Please try again in " + retryAfterSeconds + " seconds.")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.backend.config;
 
+import com.example.backend.util.CorrelationId;
+import com.example.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -48,9 +50,14 @@ public class CorsConfig {
             "Content-Type",
             "Accept",
             "Origin",
-            "X-Requested-With"
+            "X-Requested-With",
+            CorrelationId.HEADER
         ));
         
+        // Let the frontend read how long to back off after a 429, the request's correlation ID
+        // and the cursor for the next page of a list
+        configuration.setExposedHeaders(List.of("Retry-After", CorrelationId.HEADER, KeysetCursor.HEADER));
+        
         // Allow credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
         
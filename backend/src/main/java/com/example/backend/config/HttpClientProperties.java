@@ -0,0 +1,98 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the upstream HTTP clients (app.http.*).
+ * Each upstream gets its own connection pool, circuit breaker and bulkhead so one provider
+ * cannot exhaust the other's connections or the request threads waiting on it.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.http")
+public class HttpClientProperties {
+
+    private final Client finnhub = new Client();
+
+    private final Client polygon = new Client();
+
+    /**
+     * Timeouts and connection pool settings for one upstream.
+     */
+    @Data
+    public static class Client {
+
+        /** Time allowed to establish a TCP/TLS connection. */
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /** Time allowed for the response once the request is sent. */
+        private Duration responseTimeout = Duration.ofSeconds(10);
+
+        /** Time a request may wait for a pooled connection before failing. */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+        /** Maximum connections in the pool. */
+        private int maxTotal = 50;
+
+        /** Maximum connections per host; each upstream is a single host, so usually equal to max-total. */
+        private int maxPerRoute = 50;
+
+        /** Connections are closed after this long regardless of activity, so DNS changes are picked up. */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        /** How long an idle connection is kept alive when the server does not say otherwise. */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /** Idle connections are evicted by a background task after this long. */
+        private Duration evictIdleAfter = Duration.ofSeconds(60);
+
+        /** Connections idle for longer than this are checked before reuse. */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        private final Bulkhead bulkhead = new Bulkhead();
+    }
+
+    /**
+     * Circuit breaker for one upstream. Opens when too many recent calls fail or are slow,
+     * then lets a few probe calls through after a cool-down to decide whether to close again.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /** Percentage of failed calls in the window that opens the breaker. */
+        private float failureRateThreshold = 50;
+
+        /** Percentage of slow calls in the window that opens the breaker. */
+        private float slowCallRateThreshold = 50;
+
+        /** Calls taking longer than this count as slow. */
+        private Duration slowCallDuration = Duration.ofSeconds(3);
+
+        /** Number of most recent calls the rates are computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Rates are not evaluated until the window holds at least this many calls. */
+        private int minimumCalls = 10;
+
+        /** How long the breaker stays open before allowing probe calls. */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** Number of probe calls allowed while half-open. */
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * Concurrency limit for one upstream. Calls beyond the limit are rejected immediately
+     * instead of queueing, so request threads are never parked behind a slow provider.
+     */
+    @Data
+    public static class Bulkhead {
+
+        /** Maximum calls in flight at once. */
+        private int maxConcurrentCalls = 20;
+    }
+}
@@ -1,48 +1,197 @@
 package com.example.backend.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import com.example.backend.service.UpstreamHttpClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 
 /**
  * HTTP configuration for external API clients.
- * Provides configured RestTemplate beans for different external services.
+ * Provides a non-blocking, HTTP/2-capable client per external service, each with its own
+ * connection pool. Pool usage is published as "httpcomponents.httpclient.pool.*" metrics
+ * tagged with httpclient=finnhub|polygon.
+ *
+ * Each client is also guarded by its own circuit breaker and bulkhead, published as
+ * "resilience4j.circuitbreaker.*" (including the current state) and "resilience4j.bulkhead.*"
+ * metrics tagged with name=finnhub|polygon.
  */
+@Slf4j
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class HttpConfig {
 
     /**
-     * RestTemplate bean specifically configured for Finnhub API calls.
-     * Includes base URL, connection timeout, and read timeout settings.
+     * Registry of upstream circuit breakers, with state and call metrics bound to Micrometer.
      *
-     * @param builder RestTemplateBuilder for configuration
-     * @return configured RestTemplate for Finnhub API
+     * @param meterRegistry registry for breaker metrics
+     * @return circuit breaker registry
      */
     @Bean
-    public RestTemplate finnhubRestTemplate(RestTemplateBuilder builder) {
-        return builder
-                .rootUri("https://finnhub.io/api/v1")
-                .connectTimeout(Duration.ofSeconds(5))
-                .readTimeout(Duration.ofSeconds(10))
-                .build();
+    public CircuitBreakerRegistry upstreamCircuitBreakers(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Registry of upstream bulkheads, with concurrency metrics bound to Micrometer.
+     *
+     * @param meterRegistry registry for bulkhead metrics
+     * @return bulkhead registry
+     */
+    @Bean
+    public BulkheadRegistry upstreamBulkheads(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Async client specifically configured for Finnhub API calls.
+     *
+     * @param properties HTTP client properties
+     * @param objectMapper mapper for JSON responses
+     * @param meterRegistry registry for pool metrics
+     * @param circuitBreakers registry the Finnhub breaker is added to
+     * @param bulkheads registry the Finnhub bulkhead is added to
+     * @return configured client for Finnhub API
+     */
+    @Bean
+    public UpstreamHttpClient finnhubHttpClient(HttpClientProperties properties, ObjectMapper objectMapper,
+                                                MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakers,
+                                                BulkheadRegistry bulkheads) {
+        return buildClient("Finnhub", "finnhub", properties.getFinnhub(), objectMapper, meterRegistry,
+                circuitBreakers, bulkheads);
     }
     
     /**
-     * RestTemplate bean specifically configured for Polygon API calls.
-     * Includes base URL, connection timeout, and read timeout settings.
+     * Async client specifically configured for Polygon API calls.
      *
-     * @param builder RestTemplateBuilder for configuration
-     * @return configured RestTemplate for Polygon API
+     * @param properties HTTP client properties
+     * @param objectMapper mapper for JSON responses
+     * @param meterRegistry registry for pool metrics
+     * @param circuitBreakers registry the Polygon breaker is added to
+     * @param bulkheads registry the Polygon bulkhead is added to
+     * @return configured client for Polygon API
      */
     @Bean
-    public RestTemplate polygonRestTemplate(RestTemplateBuilder builder) {
-        return builder
-                .rootUri("https://api.polygon.io")
-                .connectTimeout(Duration.ofSeconds(5))
-                .readTimeout(Duration.ofSeconds(10))
+    public UpstreamHttpClient polygonHttpClient(HttpClientProperties properties, ObjectMapper objectMapper,
+                                                MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakers,
+                                                BulkheadRegistry bulkheads) {
+        return buildClient("Polygon", "polygon", properties.getPolygon(), objectMapper, meterRegistry,
+                circuitBreakers, bulkheads);
+    }
+
+    private UpstreamHttpClient buildClient(String displayName, String name, HttpClientProperties.Client client,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                           CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads) {
+        return new UpstreamHttpClient(displayName,
+                buildAsyncClient(name, client, meterRegistry), objectMapper,
+                buildCircuitBreaker(name, client.getCircuitBreaker(), circuitBreakers),
+                bulkheads.bulkhead(name, BulkheadConfig.custom()
+                        .maxConcurrentCalls(client.getBulkhead().getMaxConcurrentCalls())
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()));
+    }
+
+    /**
+     * Builds a count-based circuit breaker that opens on either the failure rate or the
+     * slow-call rate, and moves to half-open on the first call after the open duration.
+     *
+     * @param name breaker name used as metrics tag
+     * @param settings thresholds for this upstream
+     * @param registry registry the breaker is added to
+     * @return circuit breaker
+     */
+    private CircuitBreaker buildCircuitBreaker(String name, HttpClientProperties.CircuitBreaker settings,
+                                               CircuitBreakerRegistry registry) {
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(name, UpstreamHttpClient.circuitBreakerConfig()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDuration())
+                .waitDurationInOpenState(settings.getOpenDuration())
+                .permittedNumberOfCallsInHalfOpenState(settings.getHalfOpenCalls())
+                .build());
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker for {} changed state: {}", name, event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    /**
+     * Builds an async client that negotiates HTTP/2 over TLS (falling back to HTTP/1.1)
+     * and reuses connections from a bounded pool. Connections are recycled after their
+     * TTL, and idle or expired ones are evicted in the background.
+     *
+     * @param name pool name used as metrics tag
+     * @param client timeouts and pool settings
+     * @param meterRegistry registry for pool metrics
+     * @return unstarted async client
+     */
+    private CloseableHttpAsyncClient buildAsyncClient(String name, HttpClientProperties.Client client,
+                                                      MeterRegistry meterRegistry) {
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.getMaxTotal())
+                .setMaxConnPerRoute(client.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(toTimeout(client.getConnectTimeout()))
+                        .setTimeToLive(toTimeValue(client.getTimeToLive()))
+                        .setValidateAfterInactivity(toTimeValue(client.getValidateAfterInactivity()))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(meterRegistry);
+
+        TimeValue keepAlive = toTimeValue(client.getKeepAlive());
+        return HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(client.getConnectionRequestTimeout()))
+                        .setResponseTimeout(toTimeout(client.getResponseTimeout()))
+                        .build())
+                // Honour the server's Keep-Alive header, but never keep a connection longer than configured
+                .setKeepAliveStrategy((response, context) -> DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context)
+                        .min(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(client.getEvictIdleAfter()))
                 .build();
     }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the saved analysis ID sequences past IDs that were assigned before the tables
+ * switched from IDENTITY columns to pooled sequences.
+ *
+ * Hibernate creates the sequences starting at 1, while existing rows already hold IDs from
+ * the columns' identity sequences. On startup each sequence is advanced to its table's
+ * highest ID if it is behind it, so the next block of 50 starts above every existing row.
+ * Once the sequence has caught up this is a no-op, and a sequence is never moved backwards,
+ * so instances starting while others insert cannot hand out the same block twice.
+ *
+ * With ddl-auto: validate (the prod profile) Hibernate does not create the sequences;
+ * db/saved_analysis.sql creates and aligns them and must be applied before startup.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    private static final List<String> TABLES = List.of("ddm_analysis", "chowder_analysis");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The entity manager factory is only taken so the schema update that creates the
+     * sequences has run before they are aligned.
+     */
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.debug("Skipping ID sequence alignment on {}", database);
+            return;
+        }
+
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            // An unused sequence hands out last_value itself next, a used one the block after it
+            List<Long> advanced = jdbcTemplate.queryForList(
+                    "select setval('" + sequence + "', t.max_id) from (select max(id) as max_id from " + table + ") t, "
+                            + sequence + " s where t.max_id > s.last_value or (t.max_id = s.last_value and not s.is_called)",
+                    Long.class);
+            if (!advanced.isEmpty()) {
+                log.info("Advanced {} to {} past existing {} IDs", sequence, advanced.getFirst(), table);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for market data handling (app.market-data.*).
+ * Values are bound from application.yml and can be overridden per environment.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.market-data")
+public class MarketDataProperties {
+
+    private final Cache cache = new Cache();
+
+    private final CorporateActions corporateActions = new CorporateActions();
+
+    private final Upstream upstream = new Upstream();
+
+    private final Batch batch = new Batch();
+
+    private final Polygon polygon = new Polygon();
+
+    private final Finnhub finnhub = new Finnhub();
+
+    private final Prewarm prewarm = new Prewarm();
+
+    private final Stream stream = new Stream();
+
+    /**
+     * Cache settings, one entry per upstream endpoint.
+     */
+    @Data
+    public static class Cache {
+
+        /** Quotes change constantly, so they are kept for seconds. */
+        private final Entry quote = new Entry(Duration.ofSeconds(30), 2_000);
+
+        /** Fundamentals are reported annually, so they are kept for hours. */
+        private final Entry fundamentals = new Entry(Duration.ofHours(24), 1_000);
+
+        /** Chowder and DDM results include the current price, so they are kept as long as quotes. */
+        private final Entry analysis = new Entry(Duration.ofSeconds(30), 1_000);
+
+        /**
+         * Serve expired fundamentals immediately (marked stale) while they are refreshed
+         * in the background, instead of blocking on Finnhub.
+         */
+        private boolean fundamentalsStaleWhileRevalidate = true;
+
+        /** How long past its TTL a fundamentals entry may still be served as stale. */
+        private Duration fundamentalsMaxStale = Duration.ofDays(7);
+
+        /** Threads used for background refreshes; one of them also runs the periodic prewarm. */
+        private int refreshThreads = 2;
+
+        /** Refreshes that may wait for a thread; further refreshes are skipped until the next read. */
+        private int refreshQueueCapacity = 100;
+    }
+
+    /**
+     * Settings for the locally stored dividend and split history.
+     */
+    @Data
+    public static class CorporateActions {
+
+        /** How long stored history is trusted before new events are requested from Polygon. */
+        private Duration syncInterval = Duration.ofHours(12);
+    }
+
+    /**
+     * Limits for concurrent upstream fetches.
+     */
+    @Data
+    public static class Upstream {
+
+        /** Combined deadline for the concurrent quote/dividend/split fetches of one analysis. */
+        private Duration fanOutTimeout = Duration.ofSeconds(15);
+    }
+
+    /**
+     * Limits for multi-symbol requests.
+     */
+    @Data
+    public static class Batch {
+
+        /** Maximum number of distinct symbols in one batch request. */
+        private int maxSymbols = 50;
+
+        /** Maximum number of upstream fetches a single batch runs at once. */
+        private int parallelism = 8;
+
+        /** Symbols still unresolved after this long are reported as timed out. */
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Polygon API keys and their per-key quota.
+     */
+    @Data
+    public static class Polygon {
+
+        /**
+         * API keys to spread requests over. When empty, POLYGON_API_KEY_ONE/TWO/THREE are used.
+         */
+        private List<String> apiKeys = new ArrayList<>();
+
+        /** Requests each key may make per minute (Polygon free tier: 5). */
+        private int requestsPerMinute = 5;
+
+        /** Requests per key that background work (prewarming) must leave for user-facing requests. */
+        private double backgroundReserve = 1;
+
+        /** How long a key is benched after a 429; doubles with each consecutive 429. */
+        private Duration quarantine = Duration.ofSeconds(60);
+
+        /** Upper bound for the quarantine backoff. */
+        private Duration maxQuarantine = Duration.ofMinutes(10);
+
+        /** How long a request may wait for a key with budget before failing with 503. */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Client-side request budget for Finnhub.
+     */
+    @Data
+    public static class Finnhub {
+
+        /** Sustained requests per minute (Finnhub free tier: 60). */
+        private int callsPerMinute = 60;
+
+        /** Requests that may be sent back to back after an idle period. */
+        private int burst = 10;
+
+        /** Tokens background work must leave for user-facing requests. */
+        private double backgroundReserve = 2;
+
+        /** How long a user-facing request may wait for budget before failing with 503. */
+        private Duration interactiveMaxWait = Duration.ofSeconds(2);
+
+        /** How long prefetch or refresh work may wait for budget before it is dropped. */
+        private Duration backgroundMaxWait = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Background refresh of the most requested symbols, so popular data is already cached
+     * when it is asked for.
+     */
+    @Data
+    public static class Prewarm {
+
+        private boolean enabled = true;
+
+        /** Number of most requested symbols to keep warm. */
+        private int topK = 200;
+
+        /** Counters per row of the popularity sketch; a few times the number of distinct symbols. */
+        private int sketchWidth = 4096;
+
+        /** How often the prewarmer runs; entries that would expire before the next run are refreshed. */
+        private Duration interval = Duration.ofSeconds(30);
+
+        /** How often request counts are scaled down, so popularity reflects recent traffic. */
+        private Duration decayInterval = Duration.ofMinutes(10);
+
+        /** Factor applied to all request counts on each decay (0.5 halves them). */
+        private double decayFactor = 0.5;
+
+        /** Share of each upstream's request budget the prewarmer may use. */
+        private double quotaShare = 0.2;
+    }
+
+    /**
+     * Live quote streams (Server-Sent Events). Each subscribed symbol has one poller per
+     * node, shared by all of its subscribers.
+     */
+    @Data
+    public static class Stream {
+
+        /** How often a symbol's poller reads the quote; Finnhub is only called once the cached quote expires. */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /** How long a poller waits after a failed fetch before trying again. */
+        private Duration errorBackoff = Duration.ofSeconds(30);
+
+        /** How often an idle stream gets a comment, so proxies keep it open and closed clients are noticed. */
+        private Duration heartbeat = Duration.ofSeconds(30);
+
+        /** Streams are closed after this long; EventSource clients reconnect on their own. */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /** Maximum number of distinct symbols in one stream. */
+        private int maxSymbols = 20;
+
+        /** Maximum number of open streams per client (user, else remote address). */
+        private int maxStreamsPerClient = 2;
+
+        /**
+         * Maximum number of symbols polled on this node. Each costs about two Finnhub calls a
+         * minute, so this bounds how much of the quota streams can take; streams that would
+         * start more pollers are rejected.
+         */
+        private int maxPollers = 20;
+    }
+
+    /**
+     * Time-to-live and maximum number of symbols for a single cache.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Duration ttl;
+        private long maxSize;
+    }
+}
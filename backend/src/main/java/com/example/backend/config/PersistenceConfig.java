@@ -0,0 +1,12 @@
+package com.example.backend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Persistence settings for saved analyses.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkImportProperties.class)
+public class PersistenceConfig {
+}
@@ -1,6 +1,7 @@
 package com.example.backend.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,8 +17,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
  * 
  * Production security configuration with:
  * - JWT authentication via Clerk using JWKS verification
- * - Public endpoints for market data (allows unauthenticated stock analysis)
+ * - Public endpoints for market data (allows unauthenticated stock analysis), rate limited per client
  * - Protected endpoints for saved analyses (requires authentication)
+ * - Public actuator health and Prometheus scrape endpoints
  * - Security headers configured (HSTS, CSP, X-Frame-Options, etc.)
  * - CORS configured via environment variables
  * - Stateless session management for JWT tokens
@@ -29,6 +31,8 @@ public class SecurityConfig {
 
     private final ClerkJwtAuthFilter clerkJwtAuthFilter;
 
+    private final ClientRateLimitFilter clientRateLimitFilter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource) throws Exception {
         http
@@ -65,17 +69,24 @@ public class SecurityConfig {
             // Add JWT authentication filter before other filters
             .addFilterBefore(clerkJwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
             
+            // Rate limit market data per client; runs after JWT auth so signed-in users are keyed by user ID
+            .addFilterAfter(clientRateLimitFilter, ClerkJwtAuthFilter.class)
+            
             // Configure endpoint access
             .authorizeHttpRequests(authz -> authz
                 // Public endpoints: Allow unauthenticated access to market data
                 // This enables users to search and analyze stocks without logging in.
-                // Note: Rate limiting should be considered in the future to prevent abuse,
-                // as these endpoints call external APIs (Finnhub/Polygon) which have rate limits.
+                // Since these endpoints call external APIs (Finnhub/Polygon) with shared quotas,
+                // each client is rate limited by ClientRateLimitFilter.
                 .requestMatchers("/api/market/**").permitAll()
                 
                 // Allow health check endpoint (for waking up backend from standby)
                 .requestMatchers("/api/health").permitAll()
                 
+                // Actuator health and Prometheus scrape endpoint; set MANAGEMENT_SERVER_PORT
+                // to serve them on a port that is not publicly reachable
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                
                 // Protected endpoints require authentication
                 .requestMatchers("/api/saved/**").authenticated()
                 
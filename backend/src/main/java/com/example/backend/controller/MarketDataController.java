@@ -1,35 +1,68 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.ClientRateLimitFilter;
 import com.example.backend.dto.BasicFinancialsView;
 import com.example.backend.dto.ChowderResultView;
 import com.example.backend.dto.DdmDataView;
+import com.example.backend.dto.QuoteBatchView;
 import com.example.backend.dto.QuoteView;
 import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.StreamLimitException;
 import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamTimeoutException;
+import com.example.backend.exception.UpstreamUnavailableException;
 import com.example.backend.service.MarketDataService;
+import com.example.backend.service.QuoteStreamRegistry;
+import com.example.backend.service.SymbolPopularity;
+import com.example.backend.service.Versioned;
+import com.example.backend.util.LogSampler;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
 
 
 /**
  * REST controller for market data endpoints.
  * Provides access to stock quotes, historical data, and financial metrics.
+ * Successfully served symbols are counted so popular ones can be kept warm.
+ * Expected upstream failures are logged without stack traces and sampled per error type.
+ * Single-symbol responses carry an ETag and Cache-Control max-age from the server-side
+ * cache, so unchanged data is answered with 304 Not Modified.
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/market")
 @RequiredArgsConstructor
 @Validated
 public class MarketDataController {
     
+    /**
+     * Expected failures are logged at most 10 times a minute per exception type.
+     */
+    private static final LogSampler EXPECTED_FAILURES = new LogSampler(10, Duration.ofMinutes(1));
+    
     private final MarketDataService marketDataService;
     
+    private final SymbolPopularity symbolPopularity;
+    
+    private final QuoteStreamRegistry quoteStreamRegistry;
+    
     /**
      * Retrieves current quote for a stock symbol.
      * 
@@ -40,8 +73,58 @@ public class MarketDataController {
     public ResponseEntity<QuoteView> getQuote(
             @PathVariable @NotBlank(message = "Symbol cannot be blank") String symbol) {
         
-        QuoteView quote = marketDataService.getQuoteSanitized(symbol);
-        return ResponseEntity.ok(quote);
+        Versioned<QuoteView> quote = marketDataService.getQuoteVersioned(symbol);
+        symbolPopularity.record(symbol);
+        return cacheable(quote);
+    }
+    
+    
+    /**
+     * Retrieves current quotes for several stock symbols in one request.
+     * Symbols that cannot be resolved are returned under errors instead of failing the request.
+     * 
+     * @param symbols comma-separated stock symbols (e.g., AAPL,MSFT,KO)
+     * @return quotes and per-symbol errors
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<QuoteBatchView> getQuotes(
+            @RequestParam @NotEmpty(message = "Symbols cannot be empty") List<String> symbols) {
+        
+        try {
+            QuoteBatchView quotes = marketDataService.getQuotesSanitized(symbols);
+            quotes.getQuotes().keySet().forEach(symbolPopularity::record);
+            return ResponseEntity.ok(quotes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    
+    /**
+     * Streams live quotes for several stock symbols as Server-Sent Events.
+     * Each "quote" event carries one symbol's latest quote, or the error that kept it from
+     * being fetched; an event is sent whenever a quote changes.
+     * 
+     * @param symbols comma-separated stock symbols (e.g., AAPL,MSFT,KO)
+     * @return event stream; 429 if the client already has as many streams open as it may,
+     *         503 if this node polls as many symbols as it may
+     */
+    @GetMapping(path = "/stream/quotes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamQuotes(
+            @RequestParam @NotEmpty(message = "Symbols cannot be empty") List<String> symbols,
+            HttpServletRequest request) {
+        
+        try {
+            // Symbols are counted towards popularity by the registry once their first quote arrives
+            SseEmitter emitter = quoteStreamRegistry.subscribe(symbols, ClientRateLimitFilter.clientKey(request));
+            // Keep reverse proxies from buffering the stream
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (StreamLimitException e) {
+            return ResponseEntity.status(e.isPerClient() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE)
+                    .build();
+        }
     }
     
     
@@ -55,8 +138,9 @@ public class MarketDataController {
     public ResponseEntity<BasicFinancialsView> getFundamentals(
             @PathVariable @NotBlank(message = "Symbol cannot be blank") String symbol) {
         
-        BasicFinancialsView fundamentals = marketDataService.getBasicFinancialsSanitized(symbol);
-        return ResponseEntity.ok(fundamentals);
+        Versioned<BasicFinancialsView> fundamentals = marketDataService.getBasicFinancialsVersioned(symbol);
+        symbolPopularity.record(symbol);
+        return cacheable(fundamentals);
     }
     
     
@@ -72,21 +156,21 @@ public class MarketDataController {
             @PathVariable @NotBlank(message = "Symbol cannot be blank") String symbol) {
         
         try {
-            System.out.println("Received request for chowder analysis: " + symbol);
-            ChowderResultView result = marketDataService.calculateChowderRule(symbol);
-            System.out.println("Successfully calculated chowder for: " + symbol);
-            return ResponseEntity.ok(result);
+            log.debug("Chowder analysis requested for {}", symbol);
+            Versioned<ChowderResultView> result = marketDataService.getChowderVersioned(symbol);
+            symbolPopularity.record(symbol);
+            return cacheable(result);
         } catch (SymbolNotSupportedException e) {
-            System.err.println("Error calculating chowder for " + symbol + ": " + e.getMessage());
-            e.printStackTrace();
+            logExpectedFailure("chowder", symbol, e);
             return ResponseEntity.badRequest().build();
-        } catch (RateLimitException e) {
-            System.err.println("Error calculating chowder for " + symbol + ": " + e.getMessage());
-            e.printStackTrace();
+        } catch (RateLimitException | UpstreamUnavailableException e) {
+            logExpectedFailure("chowder", symbol, e);
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        } catch (Exception e) {
-            System.err.println("Error calculating chowder for " + symbol + ": " + e.getMessage());
-            e.printStackTrace();
+        } catch (UpstreamTimeoutException e) {
+            logExpectedFailure("chowder", symbol, e);
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+        } catch (RuntimeException e) {
+            log.error("Chowder analysis failed for {}", symbol, e);
             throw e;
         }
     }
@@ -104,24 +188,61 @@ public class MarketDataController {
             @PathVariable @NotBlank(message = "Symbol cannot be blank") String symbol) {
         
         try {
-            System.out.println("Received request for DDM data: " + symbol);
-            DdmDataView result = marketDataService.getDdmData(symbol);
-            System.out.println("Successfully fetched DDM data for: " + symbol);
-            return ResponseEntity.ok(result);
+            log.debug("DDM data requested for {}", symbol);
+            Versioned<DdmDataView> result = marketDataService.getDdmVersioned(symbol);
+            symbolPopularity.record(symbol);
+            return cacheable(result);
         } catch (SymbolNotSupportedException e) {
-            System.err.println("Error fetching DDM data for " + symbol + ": " + e.getMessage());
-            e.printStackTrace();
+            logExpectedFailure("ddm", symbol, e);
             return ResponseEntity.badRequest().build();
-        } catch (RateLimitException e) {
-            System.err.println("Error fetching DDM data for " + symbol + ": " + e.getMessage());
-            e.printStackTrace();
+        } catch (RateLimitException | UpstreamUnavailableException e) {
+            logExpectedFailure("ddm", symbol, e);
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        } catch (Exception e) {
-            System.err.println("Error fetching DDM data for " + symbol + ": " + e.getMessage());
-            e.printStackTrace();
+        } catch (UpstreamTimeoutException e) {
+            logExpectedFailure("ddm", symbol, e);
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+        } catch (RuntimeException e) {
+            log.error("Fetching DDM data failed for {}", symbol, e);
             throw e;
         }
     }
     
     
+    /**
+     * Builds a 200 response with the view's version as a strong ETag and its remaining
+     * server-side cache lifetime as Cache-Control max-age. For a GET whose If-None-Match
+     * matches the ETag, Spring MVC answers 304 Not Modified without writing the body.
+     * 
+     * @param view versioned view
+     * @return response carrying the view
+     */
+    private static <T> ResponseEntity<T> cacheable(Versioned<T> view) {
+        return ResponseEntity.ok()
+                .eTag(view.version())
+                .cacheControl(CacheControl.maxAge(view.maxAge()).cachePublic())
+                .body(view.value());
+    }
+    
+    
+    /**
+     * Logs an expected upstream failure (unknown symbol, rate limit, unavailable or slow
+     * provider) without a stack trace, sampled per exception type so a burst of the
+     * same failure does not flood the logs.
+     * 
+     * @param analysis analysis tag, e.g. "chowder"
+     * @param symbol requested symbol
+     * @param e the failure
+     */
+    private static void logExpectedFailure(String analysis, String symbol, RuntimeException e) {
+        String type = e.getClass().getSimpleName();
+        long suppressed = EXPECTED_FAILURES.sample(type);
+        if (suppressed >= 0) {
+            log.atWarn()
+                    .addKeyValue("analysis", analysis)
+                    .addKeyValue("symbol", symbol)
+                    .addKeyValue("error", type)
+                    .addKeyValue("suppressed", suppressed)
+                    .log("{} for {} failed: {} ({} similar suppressed)", analysis, symbol, e.getMessage(), suppressed);
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.BulkImportResultDto;
 import com.example.backend.dto.SavedDdmAnalysisRequestDto;
 import com.example.backend.dto.SavedDdmAnalysisResponseDto;
 import com.example.backend.service.SavedDdmAnalysisService;
+import com.example.backend.util.KeysetCursor;
+import com.example.backend.util.Pagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -33,12 +36,35 @@ public class SavedAnalysisController {
     }
 
     /**
-     * Retrieves all DDM analyses for the authenticated user.
+     * Saves many DDM analyses for the authenticated user, e.g. when migrating a spreadsheet.
+     * Invalid rows are skipped and reported by position; all other rows are saved.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResultDto> importAnalyses(@RequestBody List<SavedDdmAnalysisRequestDto> rows) {
+        return ResponseEntity.ok(service.importAnalyses(rows));
+    }
+
+    /**
+     * Retrieves the authenticated user's DDM analyses, newest first, one page at a time.
+     * The cursor for the next page is returned in the X-Next-Cursor header, which is
+     * absent on the last page.
      */
     @GetMapping
-    public ResponseEntity<List<SavedDdmAnalysisResponseDto>> getAllAnalyses() {
-        List<SavedDdmAnalysisResponseDto> analyses = service.getAllByUserId();
-        return ResponseEntity.ok(analyses);
+    public ResponseEntity<List<SavedDdmAnalysisResponseDto>> getAllAnalyses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int limit) {
+        Pagination.Page<SavedDdmAnalysisResponseDto> page;
+        try {
+            page = service.getPageByUserId(cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(KeysetCursor.HEADER, page.next());
+        }
+        return response.body(page.items());
     }
 
     /**
@@ -0,0 +1,95 @@
+package com.example.backend.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Annual series keys read from Finnhub's /stock/metric payload.
+ * Only metrics exposed in {@link BasicFinancialsView} are listed; every other
+ * series in the payload is skipped while parsing.
+ */
+public enum AnnualMetric {
+
+    // Valuation Ratios
+    PE("pe"),
+    PB("pb"),
+    PS("ps"),
+    PFCF("pfcf"),
+    PTBV("ptbv"),
+
+    // Profitability Margins
+    GROSS_MARGIN("grossMargin"),
+    OPERATING_MARGIN("operatingMargin"),
+    NET_MARGIN("netMargin"),
+    PRETAX_MARGIN("pretaxMargin"),
+    FCF_MARGIN("fcfMargin"),
+
+    // Per-Share Metrics
+    EPS("eps"),
+    EBIT_PER_SHARE("ebitPerShare"),
+    SALES_PER_SHARE("salesPerShare"),
+
+    // Liquidity Ratios
+    CURRENT_RATIO("currentRatio"),
+    QUICK_RATIO("quickRatio"),
+    CASH_RATIO("cashRatio"),
+
+    // Leverage Ratios
+    TOTAL_DEBT_TO_EQUITY("totalDebtToEquity"),
+    TOTAL_DEBT_TO_TOTAL_ASSET("totalDebtToTotalAsset"),
+    TOTAL_DEBT_TO_TOTAL_CAPITAL("totalDebtToTotalCapital"),
+    LONGTERM_DEBT_TOTAL_ASSET("longtermDebtTotalAsset"),
+    LONGTERM_DEBT_TOTAL_CAPITAL("longtermDebtTotalCapital"),
+    LONGTERM_DEBT_TOTAL_EQUITY("longtermDebtTotalEquity"),
+    NET_DEBT_TO_TOTAL_CAPITAL("netDebtToTotalCapital"),
+    NET_DEBT_TO_TOTAL_EQUITY("netDebtToTotalEquity"),
+
+    // Efficiency Ratios
+    ROA("roa"),
+    ROE("roe"),
+    ROIC("roic"),
+    ROTC("rotc"),
+    INVENTORY_TURNOVER("inventoryTurnover"),
+    RECEIVABLES_TURNOVER("receivablesTurnover"),
+
+    // Valuation Metrics (reported in millions)
+    EV("ev"),
+    EV_EBITDA("evEbitda"),
+    EV_REVENUE("evRevenue"),
+
+    // Other Metrics
+    PAYOUT_RATIO("payoutRatio"),
+    SGA_TO_SALE("sgaToSale"),
+    TOTAL_RATIO("totalRatio");
+
+    private static final Map<String, AnnualMetric> BY_KEY = new HashMap<>();
+
+    static {
+        for (AnnualMetric metric : values()) {
+            BY_KEY.put(metric.key, metric);
+        }
+    }
+
+    private final String key;
+
+    AnnualMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return the series key used by Finnhub
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Looks up a metric by its Finnhub series key.
+     *
+     * @param key series key
+     * @return the metric, or null if it is not one we read
+     */
+    public static AnnualMetric fromKey(String key) {
+        return BY_KEY.get(key);
+    }
+}
@@ -6,13 +6,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 /**
  * Comprehensive financial metrics view DTO for frontend consumption.
  * Provides all available financial metrics from Finnhub API in a clean, structured format.
  * All fields are nullable to distinguish missing data from zero values.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BasicFinancialsView {
@@ -143,4 +145,11 @@ public class BasicFinancialsView {
     
     /** Total ratio */
     private Double totalRatio;
+    
+    // Freshness
+    /** When the metrics were fetched from Finnhub */
+    private Instant fetchedAt;
+    
+    /** True if the metrics are past their cache TTL and a background refresh is pending */
+    private Boolean stale;
 }
@@ -0,0 +1,43 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ * Rows that failed validation or could not be written are listed under errors; all other
+ * rows were saved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+
+    /** Rows in the request. */
+    private int received;
+
+    /** Rows saved. */
+    private int imported;
+
+    /** Rows not saved, in request order. */
+    private List<RowError> errors;
+
+    /**
+     * Why a single row was not saved.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /** Zero-based position of the row in the request. */
+        private int row;
+
+        private List<String> messages;
+    }
+}
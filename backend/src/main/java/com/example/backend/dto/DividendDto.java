@@ -18,5 +18,12 @@ public class DividendDto {
     
     @JsonProperty("ex_dividend_date")
     private String exDividendDate;
+    
+    /** Polygon's ID for the dividend; stays the same when its amount or dates are corrected. */
+    private String id;
+    
+    public DividendDto(Double cashAmount, String exDividendDate) {
+        this(cashAmount, exDividendDate, null);
+    }
 }
 
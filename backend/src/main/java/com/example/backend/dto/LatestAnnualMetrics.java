@@ -0,0 +1,30 @@
+package com.example.backend.dto;
+
+import java.util.Arrays;
+
+/**
+ * Latest annual value of each {@link AnnualMetric} for one symbol.
+ * Backed by a primitive array indexed by metric ordinal; NaN marks a missing value.
+ */
+public class LatestAnnualMetrics {
+
+    private final double[] values;
+
+    public LatestAnnualMetrics() {
+        this.values = new double[AnnualMetric.values().length];
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * @param metric metric to read
+     * @return latest annual value, or null if Finnhub did not report one
+     */
+    public Double get(AnnualMetric metric) {
+        double value = values[metric.ordinal()];
+        return Double.isNaN(value) ? null : value;
+    }
+
+    public void set(AnnualMetric metric, double value) {
+        values[metric.ordinal()] = value;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Quotes for several symbols.
+ * Symbols that could not be resolved are listed under errors instead of failing the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteBatchView {
+
+    /** Quotes keyed by normalized symbol, in request order. */
+    private Map<String, QuoteView> quotes;
+
+    /** Errors keyed by normalized symbol. */
+    private Map<String, SymbolError> errors;
+
+    /**
+     * Why a single symbol in the batch could not be resolved.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SymbolError {
+        private int status;
+        private String error;
+        private String message;
+    }
+}
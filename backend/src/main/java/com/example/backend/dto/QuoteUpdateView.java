@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One update on a live quote stream.
+ * Carries either the symbol's new quote or the error that kept it from being fetched.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteUpdateView {
+
+    /** Normalized symbol the update is for. */
+    private String symbol;
+
+    /** Latest quote; null if the last fetch failed. */
+    private QuoteView quote;
+
+    /** Why the quote could not be fetched; null on success. */
+    private QuoteBatchView.SymbolError error;
+}
@@ -3,6 +3,7 @@ package com.example.backend.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
 public class SavedChowderAnalysisRequestDto {
     
     @NotBlank(message = "Symbol is required")
+    @Size(max = 10, message = "Symbol must be at most 10 characters")
     private String symbol;
     
     @NotNull(message = "Chowder score is required")
@@ -27,6 +29,7 @@ public class SavedChowderAnalysisRequestDto {
     
     private Double currentPrice;
     
+    @Size(max = 255, message = "Message must be at most 255 characters")
     private String message;
 }
 
@@ -3,6 +3,7 @@ package com.example.backend.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
 public class SavedDdmAnalysisRequestDto {
     
     @NotBlank(message = "Symbol is required")
+    @Size(max = 10, message = "Symbol must be at most 10 characters")
     private String symbol;
     
     @NotNull(message = "Expected dividend is required")
@@ -20,5 +20,9 @@ public class StockSplitsDto {
     
     private String status;
     private Integer count;
+    
+    /** URL of the next page of results; absent on the last page. */
+    @JsonProperty("next_url")
+    private String nextUrl;
 }
 
@@ -0,0 +1,12 @@
+package com.example.backend.exception;
+
+/**
+ * Exception thrown when a bulk import is rejected as a whole, e.g. because it has no rows
+ * or more rows than allowed. Maps to HTTP 400 Bad Request.
+ */
+public class BulkImportException extends RuntimeException {
+    
+    public BulkImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.exception;
+
+/**
+ * Exception thrown when a quote stream cannot be opened because the client already has
+ * the maximum number of streams open, or because this node polls as many symbols as it may.
+ * Maps to HTTP 429 Too Many Requests for the former and 503 Service Unavailable for the latter.
+ */
+public class StreamLimitException extends RuntimeException {
+    
+    private final boolean perClient;
+    
+    public StreamLimitException(String message, boolean perClient) {
+        super(message);
+        this.perClient = perClient;
+    }
+    
+    /**
+     * @return true if the client's own stream limit was reached, false if the node's
+     */
+    public boolean isPerClient() {
+        return perClient;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.exception;
+
+/**
+ * Exception thrown when upstream market data calls do not complete in time.
+ * Maps to HTTP 504 Gateway Timeout.
+ */
+public class UpstreamTimeoutException extends RuntimeException {
+    
+    public UpstreamTimeoutException(String message) {
+        super(message);
+    }
+    
+    public UpstreamTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
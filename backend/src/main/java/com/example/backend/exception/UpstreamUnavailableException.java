@@ -0,0 +1,17 @@
+package com.example.backend.exception;
+
+/**
+ * Exception thrown when an upstream provider is not accepting calls, because its
+ * circuit breaker is open or its concurrency limit is reached.
+ * Maps to HTTP 503 Service Unavailable.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+    
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -8,14 +8,21 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chowder_analysis")
+@Table(name = "chowder_analysis",
+        indexes = @Index(name = "idx_chowder_analysis_user_created", columnList = "user_id, created_at DESC, id DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChowderAnalysis {
 
+    /**
+     * Drawn from chowder_analysis_seq in blocks of 50 (matching hibernate.jdbc.batch_size), so bulk
+     * inserts are batched; IDENTITY would force one round trip per row to read back the ID.
+     * Rows created before the switch keep their IDs; see IdSequenceAligner.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chowder_analysis_seq")
+    @SequenceGenerator(name = "chowder_analysis_seq", sequenceName = "chowder_analysis_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,46 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Sync watermark for one symbol and corporate action type.
+ *
+ * coveredFrom is the earliest date the local store is complete from, and
+ * lastEventDate is the newest stored event date; incremental syncs only
+ * request events after it.
+ */
+@Entity
+@Table(name = "corporate_action_sync_state",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_corporate_action_sync_state_symbol_type",
+                columnNames = {"symbol", "action_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorporateActionSyncState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action_type", nullable = false, length = 16)
+    private CorporateActionType actionType;
+
+    @Column(nullable = false)
+    private LocalDate coveredFrom;
+
+    private LocalDate lastEventDate;
+
+    @Column(nullable = false)
+    private LocalDateTime syncedAt;
+}
@@ -0,0 +1,9 @@
+package com.example.backend.model;
+
+/**
+ * Kinds of corporate actions stored locally and synced from Polygon.
+ */
+public enum CorporateActionType {
+    DIVIDEND,
+    SPLIT
+}
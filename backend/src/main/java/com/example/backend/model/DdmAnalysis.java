@@ -8,14 +8,21 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ddm_analysis")
+@Table(name = "ddm_analysis",
+        indexes = @Index(name = "idx_ddm_analysis_user_created", columnList = "user_id, created_at DESC, id DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DdmAnalysis {
 
+    /**
+     * Drawn from ddm_analysis_seq in blocks of 50 (matching hibernate.jdbc.batch_size), so bulk
+     * inserts are batched; IDENTITY would force one round trip per row to read back the ID.
+     * Rows created before the switch keep their IDs; see IdSequenceAligner.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ddm_analysis_seq")
+    @SequenceGenerator(name = "ddm_analysis_seq", sequenceName = "ddm_analysis_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,42 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A single historical dividend for a symbol, as reported by Polygon.
+ * Rows are identified by Polygon's dividend ID, so a later correction of the amount
+ * updates the stored row instead of adding a second dividend for the same payment.
+ */
+@Entity
+@Table(name = "dividend_event",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_dividend_event_symbol_provider_id",
+                columnNames = {"symbol", "provider_id"}),
+        indexes = @Index(name = "idx_dividend_event_symbol_date", columnList = "symbol, ex_dividend_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DividendEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    @Column(name = "ex_dividend_date", nullable = false)
+    private LocalDate exDividendDate;
+
+    @Column(name = "cash_amount", nullable = false)
+    private Double cashAmount;
+
+    /** Polygon's dividend ID. */
+    @Column(name = "provider_id", nullable = false, length = 100)
+    private String providerId;
+}
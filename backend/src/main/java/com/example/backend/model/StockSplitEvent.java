@@ -0,0 +1,37 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A single historical stock split for a symbol, as reported by Polygon.
+ * Historical corporate actions do not change, so rows are only ever inserted.
+ */
+@Entity
+@Table(name = "stock_split_event",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_stock_split_event_symbol_date",
+                columnNames = {"symbol", "execution_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSplitEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    @Column(name = "execution_date", nullable = false)
+    private LocalDate executionDate;
+
+    private Integer splitFrom;
+
+    private Integer splitTo;
+}
@@ -1,15 +1,49 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.SavedChowderAnalysisResponseDto;
 import com.example.backend.model.ChowderAnalysis;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ChowderAnalysisRepository extends JpaRepository<ChowderAnalysis, Long> {
     
-    List<ChowderAnalysis> findByUserIdOrderByCreatedAtDesc(String userId);
+    /**
+     * Reads the first page of a user's analyses, newest first, straight into response DTOs.
+     */
+    @Query("""
+            select new com.example.backend.dto.SavedChowderAnalysisResponseDto(
+                    a.id, a.symbol, a.chowderScore, a.dividendYield, a.dividendCAGR, a.yearsOfData,
+                    a.currentPrice, a.message, a.createdAt)
+            from ChowderAnalysis a
+            where a.userId = :userId
+            order by a.createdAt desc, a.id desc
+            """)
+    List<SavedChowderAnalysisResponseDto> findPageByUserId(@Param("userId") String userId, Limit limit);
+    
+    /**
+     * Reads the page of a user's analyses after the row (createdAt, id), newest first,
+     * straight into response DTOs.
+     */
+    @Query("""
+            select new com.example.backend.dto.SavedChowderAnalysisResponseDto(
+                    a.id, a.symbol, a.chowderScore, a.dividendYield, a.dividendCAGR, a.yearsOfData,
+                    a.currentPrice, a.message, a.createdAt)
+            from ChowderAnalysis a
+            where a.userId = :userId
+              and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id))
+            order by a.createdAt desc, a.id desc
+            """)
+    List<SavedChowderAnalysisResponseDto> findPageByUserIdAfter(@Param("userId") String userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") long id,
+                                      Limit limit);
     
     boolean existsByIdAndUserId(Long id, String userId);
 }
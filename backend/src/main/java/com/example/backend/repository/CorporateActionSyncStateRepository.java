@@ -0,0 +1,14 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.CorporateActionSyncState;
+import com.example.backend.model.CorporateActionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CorporateActionSyncStateRepository extends JpaRepository<CorporateActionSyncState, Long> {
+
+    Optional<CorporateActionSyncState> findBySymbolAndActionType(String symbol, CorporateActionType actionType);
+}
@@ -1,15 +1,49 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.SavedDdmAnalysisResponseDto;
 import com.example.backend.model.DdmAnalysis;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface DdmAnalysisRepository extends JpaRepository<DdmAnalysis, Long> {
     
-    List<DdmAnalysis> findByUserIdOrderByCreatedAtDesc(String userId);
+    /**
+     * Reads the first page of a user's analyses, newest first, straight into response DTOs.
+     */
+    @Query("""
+            select new com.example.backend.dto.SavedDdmAnalysisResponseDto(
+                    a.id, a.symbol, a.expectedDividend, a.growthRate, a.discountRate, a.totalDividend,
+                    a.currentPrice, a.intrinsicValue, a.isUndervalued, a.createdAt)
+            from DdmAnalysis a
+            where a.userId = :userId
+            order by a.createdAt desc, a.id desc
+            """)
+    List<SavedDdmAnalysisResponseDto> findPageByUserId(@Param("userId") String userId, Limit limit);
+    
+    /**
+     * Reads the page of a user's analyses after the row (createdAt, id), newest first,
+     * straight into response DTOs.
+     */
+    @Query("""
+            select new com.example.backend.dto.SavedDdmAnalysisResponseDto(
+                    a.id, a.symbol, a.expectedDividend, a.growthRate, a.discountRate, a.totalDividend,
+                    a.currentPrice, a.intrinsicValue, a.isUndervalued, a.createdAt)
+            from DdmAnalysis a
+            where a.userId = :userId
+              and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id))
+            order by a.createdAt desc, a.id desc
+            """)
+    List<SavedDdmAnalysisResponseDto> findPageByUserIdAfter(@Param("userId") String userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") long id,
+                                      Limit limit);
     
     boolean existsByIdAndUserId(Long id, String userId);
 }
@@ -0,0 +1,15 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.DividendEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DividendEventRepository extends JpaRepository<DividendEvent, Long> {
+
+    List<DividendEvent> findBySymbolAndExDividendDateGreaterThanEqualOrderByExDividendDateDesc(
+            String symbol, LocalDate fromDate);
+}
@@ -0,0 +1,15 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.StockSplitEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StockSplitEventRepository extends JpaRepository<StockSplitEvent, Long> {
+
+    List<StockSplitEvent> findBySymbolAndExecutionDateGreaterThanEqualOrderByExecutionDateAsc(
+            String symbol, LocalDate fromDate);
+}
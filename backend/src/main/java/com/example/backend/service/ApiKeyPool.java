@@ -0,0 +1,214 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.util.TokenBucket;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Pool of API keys for one upstream, leased according to their remaining quota.
+ *
+ * Each key has a token bucket matching the provider's per-key request limit. A lease
+ * always goes to the key with the most tokens left. A key that gets a 429 is quarantined
+ * for a backoff period that doubles with each consecutive 429 (up to a maximum), and is
+ * restored by its next successful call. When no key has budget, callers wait up to
+ * max-wait for one to free up and only then fail with RateLimitException. Background
+ * requests only lease a key that keeps background-reserve tokens for user-facing ones.
+ */
+public class ApiKeyPool {
+
+    private final String name;
+    private final Slot[] slots;
+    private final double backgroundReserve;
+    private final Duration quarantine;
+    private final Duration maxQuarantine;
+    private final long maxWaitNanos;
+    private final LongSupplier clock;
+
+    /**
+     * @param name provider name used in error messages, e.g. "Polygon"
+     * @param keys API keys, one slot each
+     * @param requestsPerPeriod requests allowed per key per period
+     * @param period quota period
+     * @param backgroundReserve tokens per key that background requests must leave unused
+     * @param quarantine how long a key is benched after its first 429
+     * @param maxQuarantine upper bound for the doubling backoff
+     * @param maxWait how long a caller may wait for a key before failing
+     * @param clock nanosecond clock, e.g. System::nanoTime
+     */
+    public ApiKeyPool(String name, List<String> keys, int requestsPerPeriod, Duration period, double backgroundReserve,
+                      Duration quarantine, Duration maxQuarantine, Duration maxWait, LongSupplier clock) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one " + name + " API key is required");
+        }
+        this.name = name;
+        this.slots = new Slot[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            slots[i] = new Slot(i, keys.get(i), new TokenBucket(requestsPerPeriod, period, clock));
+        }
+        this.backgroundReserve = backgroundReserve;
+        this.quarantine = quarantine;
+        this.maxQuarantine = maxQuarantine;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Leases the key with the most remaining budget, waiting up to max-wait without
+     * blocking a thread if every key is exhausted or quarantined.
+     *
+     * @return future with the lease; fails with RateLimitException if no key frees up in time
+     */
+    public CompletableFuture<Lease> acquire() {
+        return acquire(RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Leases a key for a request of the given priority. A background request only gets a
+     * key with more than background-reserve tokens left, so prefetch work cannot take the
+     * last requests of a quota period from users.
+     *
+     * @param priority lane of the request
+     * @return future with the lease; fails with RateLimitException if no key frees up in time
+     */
+    public CompletableFuture<Lease> acquire(RequestPriority priority) {
+        double reserve = priority == RequestPriority.BACKGROUND ? backgroundReserve : 0;
+        return acquire(reserve, clock.getAsLong() + maxWaitNanos);
+    }
+
+    private CompletableFuture<Lease> acquire(double reserve, long deadline) {
+        long now = clock.getAsLong();
+        Lease lease = tryLease(now, reserve);
+        if (lease != null) {
+            return CompletableFuture.completedFuture(lease);
+        }
+
+        long wait = Math.max(nanosUntilNextKey(now, reserve), TimeUnit.MILLISECONDS.toNanos(1));
+        if (now + wait > deadline) {
+            return CompletableFuture.failedFuture(
+                    new RateLimitException("All " + name + " API keys are rate limited"));
+        }
+        return CompletableFuture
+                .runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                .thenCompose(ignored -> acquire(reserve, deadline));
+    }
+
+    private Lease tryLease(long now, double reserve) {
+        while (true) {
+            Slot best = null;
+            double bestTokens = 0;
+            for (Slot slot : slots) {
+                if (slot.quarantinedUntil.get() - now > 0) {
+                    continue;
+                }
+                double tokens = slot.bucket.available();
+                if (tokens >= 1 + reserve && tokens > bestTokens) {
+                    best = slot;
+                    bestTokens = tokens;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            if (best.bucket.tryAcquireAbove(reserve)) {
+                return new Lease(best);
+            }
+            // Another caller took that key's last token above the reserve; pick again
+        }
+    }
+
+    private long nanosUntilNextKey(long now, double reserve) {
+        long wait = Long.MAX_VALUE;
+        for (Slot slot : slots) {
+            long quarantined = Math.max(0, slot.quarantinedUntil.get() - now);
+            wait = Math.min(wait, Math.max(quarantined, slot.bucket.nanosUntilAvailable(1 + reserve)));
+        }
+        return wait;
+    }
+
+    /**
+     * @return number of keys in the pool
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * @param slot key slot
+     * @return requests the key can still make right now
+     */
+    public double availableTokens(int slot) {
+        return slots[slot].bucket.available();
+    }
+
+    /**
+     * @param slot key slot
+     * @return true if the key is benched after a 429
+     */
+    public boolean isQuarantined(int slot) {
+        return slots[slot].quarantinedUntil.get() - clock.getAsLong() > 0;
+    }
+
+    private static final class Slot {
+        private final int index;
+        private final String key;
+        private final TokenBucket bucket;
+        private final AtomicLong quarantinedUntil;
+        private final AtomicInteger strikes = new AtomicInteger();
+
+        private Slot(int index, String key, TokenBucket bucket) {
+            this.index = index;
+            this.key = key;
+            this.bucket = bucket;
+            this.quarantinedUntil = new AtomicLong(Long.MIN_VALUE / 2);
+        }
+    }
+
+    /**
+     * One request's use of a key. Report the outcome with {@link #release} so the pool can
+     * quarantine or restore the key.
+     */
+    public final class Lease {
+
+        private final Slot slot;
+
+        private Lease(Slot slot) {
+            this.slot = slot;
+        }
+
+        public String getKey() {
+            return slot.key;
+        }
+
+        /**
+         * @return index of the leased key, safe to use in logs and metrics
+         */
+        public int getSlot() {
+            return slot.index;
+        }
+
+        /**
+         * Records the outcome of the request made with this key.
+         *
+         * @param error failure of the request, or null on success
+         */
+        public void release(Throwable error) {
+            if (error instanceof RateLimitException) {
+                int strikes = slot.strikes.incrementAndGet();
+                long backoff = Math.min(
+                        quarantine.toNanos() << Math.min(strikes - 1, 10),
+                        maxQuarantine.toNanos());
+                slot.quarantinedUntil.set(clock.getAsLong() + backoff);
+                slot.bucket.drain();
+            } else if (error == null) {
+                slot.strikes.set(0);
+            }
+        }
+    }
+}
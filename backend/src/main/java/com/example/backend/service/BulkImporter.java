@@ -0,0 +1,105 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BulkImportProperties;
+import com.example.backend.dto.BulkImportResultDto;
+import com.example.backend.exception.BulkImportException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes many rows of one entity type in chunks.
+ *
+ * Rows are validated up front and invalid ones are reported instead of written. The rest
+ * are saved chunk-size rows at a time, each chunk in its own transaction, so Hibernate can
+ * send the inserts in JDBC batches and a chunk the database rejects is rolled back and
+ * reported without undoing the others. The persistence context is cleared after every
+ * chunk so saved entities do not pile up and slow down later flushes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkImporter {
+
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BulkImportProperties settings;
+
+    /**
+     * @param rows request rows
+     * @param toEntity maps a valid row to a new entity
+     * @param saveAll saves and flushes a chunk of entities
+     * @param <R> request row type
+     * @param <E> entity type
+     * @return rows saved and per-row errors
+     * @throws BulkImportException if there are no rows or more than bulk-import.max-rows
+     */
+    public <R, E> BulkImportResultDto importRows(List<R> rows, Function<R, E> toEntity, Consumer<List<E>> saveAll) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BulkImportException("At least one row is required");
+        }
+        if (rows.size() > settings.getMaxRows()) {
+            throw new BulkImportException("At most " + settings.getMaxRows() + " rows are allowed per import");
+        }
+
+        List<BulkImportResultDto.RowError> errors = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<E> entities = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> messages = validate(rows.get(i));
+            if (messages.isEmpty()) {
+                positions.add(i);
+                entities.add(toEntity.apply(rows.get(i)));
+            } else {
+                errors.add(new BulkImportResultDto.RowError(i, messages));
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < entities.size(); from += settings.getChunkSize()) {
+            int to = Math.min(from + settings.getChunkSize(), entities.size());
+            List<E> chunk = entities.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    saveAll.accept(chunk);
+                    entityManager.clear();
+                });
+                imported += chunk.size();
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Bulk import chunk of {} rows failed: {}", chunk.size(), e.getMessage());
+                for (int position : positions.subList(from, to)) {
+                    errors.add(new BulkImportResultDto.RowError(position, List.of("Row could not be saved")));
+                }
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(BulkImportResultDto.RowError::getRow));
+        return BulkImportResultDto.builder()
+                .received(rows.size())
+                .imported(imported)
+                .errors(errors)
+                .build();
+    }
+
+    private List<String> validate(Object row) {
+        if (row == null) {
+            return List.of("Row is empty");
+        }
+        return validator.validate(row).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+}
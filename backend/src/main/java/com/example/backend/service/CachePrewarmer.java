@@ -0,0 +1,131 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.util.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps market data for the most requested symbols warm.
+ *
+ * On every run the current top symbols from {@link SymbolPopularity} are walked, most
+ * popular first, and any quote, fundamentals or dividend history that is missing or would
+ * expire before the next run is refreshed. Work stops once the prewarm budget for an
+ * upstream is spent; each budget refills at prewarm.quota-share of that upstream's rate,
+ * so user-facing requests always keep the larger part of the quota.
+ *
+ * A run blocks while dividend history is synced from Polygon, so it is handed to the cache
+ * refresh executor instead of occupying the shared scheduler thread that also drives the
+ * popularity decay and stream heartbeats.
+ */
+@Slf4j
+@Component
+public class CachePrewarmer {
+
+    private final SymbolPopularity popularity;
+    private final MarketDataService marketDataService;
+    private final MarketDataProperties.Prewarm settings;
+    private final TokenBucket finnhubBudget;
+    private final TokenBucket polygonBudget;
+    private final Executor refreshExecutor;
+
+    /** Set while a run is queued or running, so slow runs are skipped rather than stacked. */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CachePrewarmer(SymbolPopularity popularity, MarketDataService marketDataService,
+                          PolygonService polygonService, MarketDataProperties properties,
+                          @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+        this.popularity = popularity;
+        this.marketDataService = marketDataService;
+        this.refreshExecutor = refreshExecutor;
+        this.settings = properties.getPrewarm();
+        this.finnhubBudget = budget(properties.getFinnhub().getCallsPerMinute());
+        this.polygonBudget = budget(properties.getPolygon().getRequestsPerMinute() * polygonService.getApiKeyCount());
+    }
+
+    /**
+     * Budget refilling at quota-share of the given rate, holding one run's worth of calls
+     * but at least the two calls a dividend history sync needs.
+     *
+     * @param callsPerMinute the upstream's sustained rate
+     * @return prewarm budget for the upstream
+     */
+    private TokenBucket budget(double callsPerMinute) {
+        double perMinute = Math.max(callsPerMinute * settings.getQuotaShare(), 0.01);
+        double perRun = perMinute * settings.getInterval().toNanos() / Duration.ofMinutes(1).toNanos();
+        double capacity = Math.max(2, perRun);
+        return new TokenBucket(capacity, Duration.ofNanos((long) (capacity / perMinute * Duration.ofMinutes(1).toNanos())));
+    }
+
+    /**
+     * Starts a prewarm run on the refresh executor unless the previous one is still going.
+     */
+    @Scheduled(fixedDelayString = "${app.market-data.prewarm.interval:30s}",
+            initialDelayString = "${app.market-data.prewarm.interval:30s}")
+    public void prewarm() {
+        if (!settings.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    prewarmPopular();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            log.debug("Skipping prewarm run, refresh executor is full");
+        }
+    }
+
+    /**
+     * Refreshes data for the most requested symbols within the prewarm budget.
+     */
+    private void prewarmPopular() {
+        Duration window = settings.getInterval();
+        List<String> symbols = popularity.top();
+        int refreshed = 0;
+        for (String symbol : symbols) {
+            if (finnhubBudget.available() < 1 && polygonBudget.available() < 2) {
+                break;
+            }
+            try {
+                refreshed += spend(finnhubBudget, 1, () -> marketDataService.prewarmQuote(symbol, window));
+                refreshed += spend(finnhubBudget, 1, () -> marketDataService.prewarmBasicFinancials(symbol, window));
+                refreshed += spend(polygonBudget, 2, () -> marketDataService.prewarmDividendHistory(symbol));
+            } catch (RuntimeException e) {
+                log.debug("Prewarming {} failed: {}", symbol, e.getMessage());
+            }
+        }
+
+        if (refreshed > 0) {
+            log.debug("Prewarmed {} entries for {} popular symbols", refreshed, symbols.size());
+        }
+    }
+
+    /**
+     * Runs a refresh if the budget covers its cost, and charges the budget only if the
+     * refresh actually called the upstream (fresh entries cost nothing).
+     *
+     * @return 1 if the upstream was called, otherwise 0
+     */
+    private static int spend(TokenBucket budget, double cost, BooleanSupplier refresh) {
+        if (budget.available() < cost || !refresh.getAsBoolean()) {
+            return 0;
+        }
+        budget.tryAcquire(cost);
+        return 1;
+    }
+}
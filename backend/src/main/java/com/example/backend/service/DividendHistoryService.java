@@ -0,0 +1,362 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.dto.DividendDto;
+import com.example.backend.dto.StockSplitDto;
+import com.example.backend.model.CorporateActionSyncState;
+import com.example.backend.model.CorporateActionType;
+import com.example.backend.model.DividendEvent;
+import com.example.backend.model.StockSplitEvent;
+import com.example.backend.repository.CorporateActionSyncStateRepository;
+import com.example.backend.repository.DividendEventRepository;
+import com.example.backend.repository.StockSplitEventRepository;
+import com.example.backend.util.SingleFlight;
+import com.example.backend.util.SymbolUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Service for locally stored dividend and split history.
+ *
+ * Past corporate actions rarely change, so events are fetched from Polygon once and
+ * stored. Afterwards only events newer than the per-symbol watermark, and upcoming ones
+ * that may still be corrected, are requested, at most once per configured sync interval.
+ * A corrected dividend amount updates the stored row (matched by Polygon's ID).
+ * Blocking syncs read Polygon's pages lazily, newest first, and stop at the watermark.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DividendHistoryService {
+
+    private final PolygonService polygonService;
+    private final DividendEventRepository dividendRepository;
+    private final StockSplitEventRepository splitRepository;
+    private final CorporateActionSyncStateRepository syncStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MarketDataProperties properties;
+    private final SingleFlight<String, Boolean> syncs = new SingleFlight<>();
+
+    /**
+     * Returns dividends with an ex-dividend date on or after fromDate, newest first.
+     * Syncs the local store from Polygon first if it is missing, incomplete or due.
+     *
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @return list of dividends
+     */
+    public List<DividendDto> getDividends(String symbol, String fromDate) {
+        String normalized = SymbolUtils.normalize(symbol);
+        LocalDate from = LocalDate.parse(fromDate);
+
+        syncIfNeeded(normalized, CorporateActionType.DIVIDEND, from, RequestPriority.INTERACTIVE);
+        return readDividends(normalized, from);
+    }
+
+    /**
+     * Starts the Polygon fetch a dividend read needs without blocking the caller, so it can
+     * overlap with other upstream calls. The future completes once the events missing from
+     * the local store have arrived, or immediately if the store is current. Its supplier
+     * stores those events and reads the dividends; that is database work, so call it on the
+     * requesting thread, not in a dependent stage on an I/O thread.
+     *
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @return future with a supplier of the dividends, newest first
+     */
+    public CompletableFuture<Supplier<List<DividendDto>>> fetchDividendsAsync(String symbol, String fromDate) {
+        String normalized = SymbolUtils.normalize(symbol);
+        LocalDate from = LocalDate.parse(fromDate);
+
+        CorporateActionSyncState state = findState(normalized, CorporateActionType.DIVIDEND);
+        if (!needsSync(state, from)) {
+            return CompletableFuture.completedFuture(() -> readDividends(normalized, from));
+        }
+        LocalDate fetchFrom = fetchFrom(state, from);
+        return polygonService.fetchDividendHistoryAsync(normalized, fetchFrom.toString())
+                .thenApply(fetched -> () -> {
+                    store(normalized, CorporateActionType.DIVIDEND, state, from,
+                            () -> storeDividends(normalized, fetched, fetchFrom));
+                    return readDividends(normalized, from);
+                });
+    }
+
+    /**
+     * Returns stock splits executed on or after fromDate, oldest first.
+     * Syncs the local store from Polygon first if it is missing, incomplete or due.
+     *
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @return list of stock splits
+     */
+    public List<StockSplitDto> getSplits(String symbol, String fromDate) {
+        String normalized = SymbolUtils.normalize(symbol);
+        LocalDate from = LocalDate.parse(fromDate);
+
+        syncIfNeeded(normalized, CorporateActionType.SPLIT, from, RequestPriority.INTERACTIVE);
+        return readSplits(normalized, from);
+    }
+
+    /**
+     * Starts the Polygon fetch a split read needs without blocking the caller.
+     * Works like {@link #fetchDividendsAsync(String, String)}: call the supplier on the
+     * requesting thread.
+     *
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @return future with a supplier of the stock splits, oldest first
+     */
+    public CompletableFuture<Supplier<List<StockSplitDto>>> fetchSplitsAsync(String symbol, String fromDate) {
+        String normalized = SymbolUtils.normalize(symbol);
+        LocalDate from = LocalDate.parse(fromDate);
+
+        CorporateActionSyncState state = findState(normalized, CorporateActionType.SPLIT);
+        if (!needsSync(state, from)) {
+            return CompletableFuture.completedFuture(() -> readSplits(normalized, from));
+        }
+        LocalDate fetchFrom = fetchFrom(state, from);
+        return polygonService.fetchStockSplitsAsync(normalized, fetchFrom.toString())
+                .thenApply(fetched -> () -> {
+                    store(normalized, CorporateActionType.SPLIT, state, from,
+                            () -> storeSplits(normalized, fetched, fetchFrom));
+                    return readSplits(normalized, from);
+                });
+    }
+
+    private List<DividendDto> readDividends(String symbol, LocalDate from) {
+        return dividendRepository
+                .findBySymbolAndExDividendDateGreaterThanEqualOrderByExDividendDateDesc(symbol, from)
+                .stream()
+                .map(event -> new DividendDto(event.getCashAmount(), event.getExDividendDate().toString()))
+                .toList();
+    }
+
+    private List<StockSplitDto> readSplits(String symbol, LocalDate from) {
+        return splitRepository
+                .findBySymbolAndExecutionDateGreaterThanEqualOrderByExecutionDateAsc(symbol, from)
+                .stream()
+                .map(event -> new StockSplitDto(
+                        event.getExecutionDate().toString(), event.getSplitTo(), event.getSplitFrom()))
+                .toList();
+    }
+
+    /**
+     * Syncs dividends and splits for a symbol from Polygon if either is missing,
+     * incomplete or due, without reading them back. Used to prewarm popular symbols, so
+     * Polygon keys are leased through the background lane.
+     *
+     * @param symbol normalized stock symbol
+     * @param from earliest date that should be stored
+     * @return true if Polygon was called
+     */
+    public boolean syncIfDue(String symbol, LocalDate from) {
+        boolean dividends = syncIfNeeded(symbol, CorporateActionType.DIVIDEND, from, RequestPriority.BACKGROUND);
+        boolean splits = syncIfNeeded(symbol, CorporateActionType.SPLIT, from, RequestPriority.BACKGROUND);
+        return dividends || splits;
+    }
+
+    /**
+     * Syncs one symbol and action type when needed. Concurrent syncs for the same
+     * symbol and type are coalesced; a caller that joined a sync for a later start
+     * date re-checks coverage and syncs again.
+     *
+     * @return true if a sync ran or was joined
+     */
+    private boolean syncIfNeeded(String symbol, CorporateActionType type, LocalDate from, RequestPriority priority) {
+        boolean synced = false;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            CorporateActionSyncState state = findState(symbol, type);
+            if (!needsSync(state, from)) {
+                return synced;
+            }
+            syncs.execute(type + ":" + symbol, () -> sync(symbol, type, from, state, priority));
+            synced = true;
+        }
+        return synced;
+    }
+
+    private CorporateActionSyncState findState(String symbol, CorporateActionType type) {
+        return syncStateRepository.findBySymbolAndActionType(symbol, type).orElse(null);
+    }
+
+    private boolean needsSync(CorporateActionSyncState state, LocalDate from) {
+        if (state == null || state.getCoveredFrom().isAfter(from)) {
+            return true;
+        }
+        LocalDateTime dueAt = state.getSyncedAt().plus(properties.getCorporateActions().getSyncInterval());
+        return !LocalDateTime.now().isBefore(dueAt);
+    }
+
+    private Boolean sync(String symbol, CorporateActionType type, LocalDate from, CorporateActionSyncState state,
+                         RequestPriority priority) {
+        LocalDate fetchFrom = fetchFrom(state, from);
+        if (type == CorporateActionType.DIVIDEND) {
+            List<DividendDto> fetched = readSince(
+                    polygonService.streamDividendHistory(symbol, fetchFrom.toString(), priority),
+                    DividendDto::getExDividendDate, fetchFrom);
+            store(symbol, type, state, from, () -> storeDividends(symbol, fetched, fetchFrom));
+        } else {
+            List<StockSplitDto> fetched = readSince(
+                    polygonService.streamStockSplits(symbol, fetchFrom.toString(), priority),
+                    StockSplitDto::getExecutionDate, fetchFrom);
+            store(symbol, type, state, from, () -> storeSplits(symbol, fetched, fetchFrom));
+        }
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Reads Polygon's events, newest first, until they pass fetchFrom. Pages are requested
+     * as they are reached, so once an event older than fetchFrom shows up no further page
+     * is fetched.
+     *
+     * @param events lazy stream of events, newest first
+     * @param date event date (ISO format), null if missing
+     * @return events dated on or after fetchFrom, plus undated ones
+     */
+    private static <T> List<T> readSince(Stream<T> events, Function<T, String> date, LocalDate fetchFrom) {
+        try (events) {
+            return events.takeWhile(event -> {
+                String value = date.apply(event);
+                return value == null || !LocalDate.parse(value).isBefore(fetchFrom);
+            }).toList();
+        }
+    }
+
+    private static boolean isBackfill(CorporateActionSyncState state, LocalDate from) {
+        return state == null || state.getCoveredFrom().isAfter(from);
+    }
+
+    private static LocalDate fetchFrom(CorporateActionSyncState state, LocalDate from) {
+        // Backfill everything from the requested date if the store does not reach back that far;
+        // otherwise only ask for events after the newest one already stored, plus upcoming ones
+        // that Polygon may still correct.
+        if (isBackfill(state, from)) {
+            return from;
+        }
+        if (state.getLastEventDate() != null) {
+            LocalDate afterWatermark = state.getLastEventDate().plusDays(1);
+            LocalDate today = LocalDate.now();
+            return afterWatermark.isAfter(today) ? today : afterWatermark;
+        }
+        return state.getCoveredFrom();
+    }
+
+    /**
+     * Stores fetched events and advances the sync state in one transaction.
+     *
+     * @param storeEvents stores the events and returns the latest event date fetched
+     */
+    private void store(String symbol, CorporateActionType type, CorporateActionSyncState state, LocalDate from,
+                       Supplier<LocalDate> storeEvents) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDate latest = storeEvents.get();
+                saveState(symbol, type, state, isBackfill(state, from) ? from : null, latest);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request or node stored the same events first; its rows and watermark are used instead.
+            log.info("Concurrent {} sync detected for {}, using stored history", type, symbol);
+        }
+    }
+
+    /**
+     * Inserts new dividends and updates the amount of stored ones Polygon has corrected.
+     * A fetched dividend is matched to a stored row by Polygon's ID.
+     *
+     * @return latest ex-dividend date fetched
+     */
+    private LocalDate storeDividends(String symbol, List<DividendDto> fetched, LocalDate fetchFrom) {
+        Map<String, DividendEvent> byProviderId = new HashMap<>();
+        for (DividendEvent event : dividendRepository
+                .findBySymbolAndExDividendDateGreaterThanEqualOrderByExDividendDateDesc(symbol, fetchFrom)) {
+            byProviderId.put(event.getProviderId(), event);
+        }
+
+        List<DividendEvent> toSave = new ArrayList<>();
+        LocalDate latest = null;
+        for (DividendDto dto : fetched) {
+            if (dto.getId() == null || dto.getExDividendDate() == null || dto.getCashAmount() == null) {
+                continue;
+            }
+            LocalDate date = LocalDate.parse(dto.getExDividendDate());
+            latest = later(latest, date);
+
+            DividendEvent event = byProviderId.get(dto.getId());
+            if (event == null) {
+                event = new DividendEvent(null, symbol, date, dto.getCashAmount(), dto.getId());
+                byProviderId.put(dto.getId(), event);
+                toSave.add(event);
+            } else if (!dto.getCashAmount().equals(event.getCashAmount())) {
+                // Polygon corrected the amount
+                event.setCashAmount(dto.getCashAmount());
+                toSave.add(event);
+            }
+        }
+
+        dividendRepository.saveAll(toSave);
+        return latest;
+    }
+
+    private LocalDate storeSplits(String symbol, List<StockSplitDto> fetched, LocalDate fetchFrom) {
+        Set<LocalDate> stored = new HashSet<>();
+        for (StockSplitEvent event : splitRepository
+                .findBySymbolAndExecutionDateGreaterThanEqualOrderByExecutionDateAsc(symbol, fetchFrom)) {
+            stored.add(event.getExecutionDate());
+        }
+
+        List<StockSplitEvent> toInsert = new ArrayList<>();
+        LocalDate latest = null;
+        for (StockSplitDto dto : fetched) {
+            if (dto.getExecutionDate() == null) {
+                continue;
+            }
+            LocalDate date = LocalDate.parse(dto.getExecutionDate());
+            latest = later(latest, date);
+            if (stored.add(date)) {
+                toInsert.add(new StockSplitEvent(null, symbol, date, dto.getSplitFrom(), dto.getSplitTo()));
+            }
+        }
+
+        splitRepository.saveAll(toInsert);
+        return latest;
+    }
+
+    private void saveState(String symbol, CorporateActionType type, CorporateActionSyncState state,
+                           LocalDate newCoveredFrom, LocalDate latestFetched) {
+        CorporateActionSyncState updated = state != null ? state : new CorporateActionSyncState();
+        updated.setSymbol(symbol);
+        updated.setActionType(type);
+        if (newCoveredFrom != null) {
+            updated.setCoveredFrom(newCoveredFrom);
+        }
+        updated.setLastEventDate(later(updated.getLastEventDate(), latestFetched));
+        updated.setSyncedAt(LocalDateTime.now());
+        syncStateRepository.save(updated);
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+}
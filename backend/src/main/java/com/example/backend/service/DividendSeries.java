@@ -0,0 +1,226 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DividendDto;
+import com.example.backend.dto.StockSplitDto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Split-adjusted dividend history of one symbol, stored column-wise.
+ *
+ * Ex-dividend dates are kept as epoch days in an int[] and amounts in a parallel double[],
+ * both sorted by date, so the analyses run over primitive arrays instead of comparing
+ * ISO date strings and allocating a DTO per dividend.
+ *
+ * Split adjustment is linear after sorting: a suffix product over the splits gives, for
+ * every position, the combined ratio of all later splits, and a single pointer walks the
+ * splits alongside the (ascending) dividends. Per-year totals and the trailing window are
+ * then computed together in one sweep by {@link #summarize}.
+ */
+public final class DividendSeries {
+
+    private final int[] epochDays;
+    private final double[] amounts;
+
+    private DividendSeries(int[] epochDays, double[] amounts) {
+        this.epochDays = epochDays;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Builds a series from upstream DTOs. Dividends without a date or amount, and splits
+     * without a date or a positive ratio, are ignored. Each dividend is divided by the
+     * ratio of every split executed after its ex-dividend date, so all amounts are on
+     * today's share basis.
+     *
+     * @param dividends dividends in any order
+     * @param splits stock splits in any order; may be null
+     * @return split-adjusted series, oldest first
+     */
+    public static DividendSeries of(List<DividendDto> dividends, List<StockSplitDto> splits) {
+        int[] days = new int[dividends.size()];
+        double[] values = new double[dividends.size()];
+        int n = sortedColumns(dividends, days, values);
+        days = Arrays.copyOf(days, n);
+        values = Arrays.copyOf(values, n);
+
+        // Suffix product of split ratios: ratios[i] is the combined ratio of splits i..m-1
+        long[] splitKeys = validSplits(splits);
+        int m = splitKeys.length;
+        int[] splitDays = new int[m];
+        double[] ratios = new double[m + 1];
+        ratios[m] = 1.0;
+        for (int i = m - 1; i >= 0; i--) {
+            StockSplitDto split = splits.get((int) splitKeys[i]);
+            splitDays[i] = (int) (splitKeys[i] >> 32);
+            ratios[i] = ratios[i + 1] * split.getSplitTo() / split.getSplitFrom();
+        }
+
+        // Dividends ascend, so the first split strictly after each dividend only moves forward
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            while (next < m && splitDays[next] <= days[i]) {
+                next++;
+            }
+            if (ratios[next] != 1.0) {
+                values[i] /= ratios[next];
+            }
+        }
+        return new DividendSeries(days, values);
+    }
+
+    /**
+     * Sorts valid dividends by date into the given columns.
+     *
+     * @return number of valid dividends written
+     */
+    private static int sortedColumns(List<DividendDto> dividends, int[] days, double[] values) {
+        // Pack (epoch day, list index) into one long so a primitive sort orders by date
+        long[] keys = new long[dividends.size()];
+        int n = 0;
+        for (int i = 0; i < dividends.size(); i++) {
+            DividendDto dividend = dividends.get(i);
+            if (dividend.getExDividendDate() != null && dividend.getCashAmount() != null) {
+                long day = LocalDate.parse(dividend.getExDividendDate()).toEpochDay();
+                keys[n++] = (day << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, n);
+        for (int i = 0; i < n; i++) {
+            days[i] = (int) (keys[i] >> 32);
+            values[i] = dividends.get((int) keys[i]).getCashAmount();
+        }
+        return n;
+    }
+
+    /**
+     * @return (epoch day, list index) of each valid split, sorted by date
+     */
+    private static long[] validSplits(List<StockSplitDto> splits) {
+        if (splits == null) {
+            return new long[0];
+        }
+        long[] keys = new long[splits.size()];
+        int m = 0;
+        for (int i = 0; i < splits.size(); i++) {
+            StockSplitDto split = splits.get(i);
+            if (split.getExecutionDate() != null
+                    && split.getSplitTo() != null && split.getSplitTo() > 0
+                    && split.getSplitFrom() != null && split.getSplitFrom() > 0) {
+                long day = LocalDate.parse(split.getExecutionDate()).toEpochDay();
+                keys[m++] = (day << 32) | i;
+            }
+        }
+        keys = Arrays.copyOf(keys, m);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * @return number of dividends in the series
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * @return true if the series has no dividends
+     */
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    /**
+     * @return sum of all split-adjusted amounts
+     */
+    public double total() {
+        double total = 0.0;
+        for (double amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * Totals the series per calendar year and over a trailing window, in one pass.
+     *
+     * @param windowStart first day of the trailing window (inclusive), e.g. one year ago
+     * @return per-year and trailing-window totals
+     */
+    public Summary summarize(LocalDate windowStart) {
+        if (isEmpty()) {
+            return new Summary(0, new double[0], new int[0], 0.0, 0);
+        }
+
+        int firstYear = LocalDate.ofEpochDay(epochDays[0]).getYear();
+        int lastYear = LocalDate.ofEpochDay(epochDays[epochDays.length - 1]).getYear();
+        double[] yearTotals = new double[lastYear - firstYear + 1];
+        int[] yearCounts = new int[yearTotals.length];
+        long windowStartDay = windowStart.toEpochDay();
+        double windowTotal = 0.0;
+        int windowCount = 0;
+
+        // Dates ascend, so the year only changes when the next year's first day is passed
+        int year = firstYear;
+        long nextYearStart = LocalDate.of(year + 1, 1, 1).toEpochDay();
+        for (int i = 0; i < epochDays.length; i++) {
+            int day = epochDays[i];
+            while (day >= nextYearStart) {
+                year++;
+                nextYearStart = LocalDate.of(year + 1, 1, 1).toEpochDay();
+            }
+            yearTotals[year - firstYear] += amounts[i];
+            yearCounts[year - firstYear]++;
+            if (day >= windowStartDay) {
+                windowTotal += amounts[i];
+                windowCount++;
+            }
+        }
+        return new Summary(firstYear, yearTotals, yearCounts, windowTotal, windowCount);
+    }
+
+    /**
+     * Per-year and trailing-window totals of a series.
+     *
+     * @param firstYear calendar year of yearTotals[0]
+     * @param yearTotals summed amounts per calendar year
+     * @param yearCounts number of dividends per calendar year
+     * @param windowTotal summed amounts within the trailing window
+     * @param windowCount number of dividends within the trailing window
+     */
+    public record Summary(int firstYear, double[] yearTotals, int[] yearCounts,
+                          double windowTotal, int windowCount) {
+
+        /**
+         * @return number of calendar years with at least one dividend
+         */
+        public int yearsWithDividends() {
+            int years = 0;
+            for (int count : yearCounts) {
+                if (count > 0) {
+                    years++;
+                }
+            }
+            return years;
+        }
+
+        /**
+         * @param year calendar year
+         * @return true if at least one dividend went ex in that year
+         */
+        public boolean hasYear(int year) {
+            int index = year - firstYear;
+            return index >= 0 && index < yearCounts.length && yearCounts[index] > 0;
+        }
+
+        /**
+         * @param year calendar year
+         * @return summed amounts for that year, 0 if there were none
+         */
+        public double yearTotal(int year) {
+            return hasYear(year) ? yearTotals[year - firstYear] : 0.0;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AnnualMetric;
+import com.example.backend.dto.LatestAnnualMetrics;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming reader for Finnhub's /stock/metric?metric=all payload.
+ *
+ * The payload holds decades of quarterly and annual history per metric, but we only
+ * need the most recent annual value of the metrics in {@link AnnualMetric}. This reader
+ * walks the token stream once, reads element 0 of each wanted series.annual array and
+ * skips everything else without building a tree or boxing values.
+ */
+public final class FinnhubMetricParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private FinnhubMetricParser() {
+    }
+
+    /**
+     * Parses the latest annual metrics from a Finnhub payload.
+     *
+     * @param body response body
+     * @return latest annual values; empty if the payload has no annual series
+     * @throws IOException if the payload is not valid JSON
+     */
+    public static LatestAnnualMetrics parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    /**
+     * Parses the latest annual metrics from a Finnhub payload.
+     *
+     * @param body response body
+     * @return latest annual values; empty if the payload has no annual series
+     * @throws IOException if the payload is not valid JSON
+     */
+    public static LatestAnnualMetrics parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private static LatestAnnualMetrics parse(JsonParser parser) throws IOException {
+        LatestAnnualMetrics metrics = new LatestAnnualMetrics();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return metrics;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("series".equals(field) && value == JsonToken.START_OBJECT) {
+                readSeries(parser, metrics);
+            } else {
+                // "metric" (current snapshot), "symbol", ...
+                parser.skipChildren();
+            }
+        }
+        return metrics;
+    }
+
+    private static void readSeries(JsonParser parser, LatestAnnualMetrics metrics) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String period = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("annual".equals(period) && value == JsonToken.START_OBJECT) {
+                readAnnual(parser, metrics);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readAnnual(JsonParser parser, LatestAnnualMetrics metrics) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            AnnualMetric metric = AnnualMetric.fromKey(parser.currentName());
+            JsonToken value = parser.nextToken();
+
+            if (metric == null || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+
+            // First item is the most recent period; skip the rest of the history
+            JsonToken element = parser.nextToken();
+            if (element == JsonToken.START_OBJECT) {
+                readPoint(parser, metric, metrics);
+                element = parser.nextToken();
+            }
+            while (element != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                element = parser.nextToken();
+            }
+        }
+    }
+
+    private static void readPoint(JsonParser parser, AnnualMetric metric, LatestAnnualMetrics metrics) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("v".equals(field) && value.isNumeric()) {
+                metrics.set(metric, parser.getDoubleValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+}
@@ -1,36 +1,102 @@
 package com.example.backend.service;
 
-import com.example.backend.dto.BasicFinancialsDto;
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.dto.LatestAnnualMetrics;
 import com.example.backend.dto.QuoteDto;
 import com.example.backend.exception.RateLimitException;
 import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.util.Futures;
+import com.example.backend.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Service for interacting with Finnhub API.
- * Handles all external API calls and error mapping.
+ * Handles all external API calls; error mapping is done by {@link UpstreamHttpClient}.
+ * Requests are paced by a local rate limiter so the calls-per-minute budget is never exceeded.
+ * Request timings and error counts are published through {@link UpstreamMetrics}.
  */
 @Service
 public class FinnhubService {
     
-    private final RestTemplate restTemplate;
+    private final UpstreamHttpClient httpClient;
+    private final PriorityRateLimiter rateLimiter;
+    private final UpstreamMetrics metrics;
     private final String apiKey;
+    private final SingleFlight<String, QuoteDto> quoteCalls = new SingleFlight<>();
+    private final SingleFlight<String, LatestAnnualMetrics> metricCalls = new SingleFlight<>();
     
-    public FinnhubService(@Qualifier("finnhubRestTemplate") RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public FinnhubService(@Qualifier("finnhubHttpClient") UpstreamHttpClient httpClient,
+                          MarketDataProperties properties, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        
+        MarketDataProperties.Finnhub finnhub = properties.getFinnhub();
+        this.rateLimiter = new PriorityRateLimiter("Finnhub", finnhub.getCallsPerMinute(), finnhub.getBurst(),
+                finnhub.getBackgroundReserve(), finnhub.getInteractiveMaxWait(), finnhub.getBackgroundMaxWait(),
+                System::nanoTime);
+        this.metrics = new UpstreamMetrics("finnhub", meterRegistry);
         this.apiKey = System.getenv("FINNHUB_API_KEY");
         
         if (apiKey == null || apiKey.trim().isEmpty()) {
             throw new IllegalStateException("FINNHUB_API_KEY environment variable is required");
         }
+        
+        registerCoalescedCounter(meterRegistry, quoteCalls, "quote");
+        registerCoalescedCounter(meterRegistry, metricCalls, "metric");
+        registerRateLimiterMeters(meterRegistry, rateLimiter);
+    }
+    
+    private static void registerCoalescedCounter(MeterRegistry meterRegistry, SingleFlight<?, ?> calls, String endpoint) {
+        FunctionCounter.builder("upstream.requests.coalesced", calls, SingleFlight::getCoalescedCount)
+                .description("Upstream calls that joined an identical in-flight call")
+                .tag("upstream", "finnhub")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+    
+    private static void registerRateLimiterMeters(MeterRegistry meterRegistry, PriorityRateLimiter rateLimiter) {
+        for (RequestPriority priority : RequestPriority.values()) {
+            Gauge.builder("upstream.ratelimiter.queued", rateLimiter, limiter -> limiter.getQueued(priority))
+                    .description("Requests waiting for request budget")
+                    .tag("upstream", "finnhub")
+                    .tag("lane", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("upstream.ratelimiter.rejected", rateLimiter, PriorityRateLimiter::getRejectedCount)
+                .description("Requests that gave up waiting for request budget")
+                .tag("upstream", "finnhub")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Sends a request once the rate limiter grants a permit. A 429 from Finnhub despite
+     * the local limit empties the bucket so queued requests back off.
+     * Finnhub uses a single API key, so every request is timed under key slot 0.
+     * 
+     * @param endpoint endpoint tag for metrics
+     * @param priority rate limiter lane
+     * @param request sends the request
+     * @return future with the request's result
+     */
+    private <T> CompletableFuture<T> limited(String endpoint, RequestPriority priority,
+                                             Supplier<CompletableFuture<T>> request) {
+        return metrics.countErrors(endpoint, rateLimiter.acquire(priority)
+                .thenCompose(ignored -> metrics.time(endpoint, 0, request)
+                        .whenComplete((result, error) -> {
+                            if (error != null && Futures.unwrap(error) instanceof RateLimitException) {
+                                rateLimiter.onRateLimited();
+                            }
+                        })));
     }
     
     /**
@@ -51,6 +117,33 @@ public class FinnhubService {
         return builder.build(true).toUri();
     }
     
+    /**
+     * Retrieves current quote for a symbol without blocking the caller.
+     * 
+     * @param symbol stock symbol
+     * @return future with the quote data; fails with RateLimitException if rate limit
+     *         exceeded or SymbolNotSupportedException if symbol not supported
+     */
+    public CompletableFuture<QuoteDto> getQuoteAsync(String symbol) {
+        return getQuoteAsync(symbol, RequestPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Retrieves current quote for a symbol without blocking the caller.
+     * Concurrent calls for the same symbol share one upstream request.
+     * 
+     * @param symbol stock symbol
+     * @param priority rate limiter lane
+     * @return future with the quote data; fails with RateLimitException if rate limit
+     *         exceeded or SymbolNotSupportedException if symbol not supported
+     */
+    public CompletableFuture<QuoteDto> getQuoteAsync(String symbol, RequestPriority priority) {
+        URI uri = buildUri("/quote", b -> b.queryParam("symbol", symbol));
+        
+        return quoteCalls.executeAsync("/quote?symbol=" + symbol,
+                () -> limited("quote", priority, () -> httpClient.getJson(uri, symbol, QuoteDto.class)));
+    }
+    
     /**
      * Retrieves current quote for a symbol.
      * 
@@ -60,45 +153,40 @@ public class FinnhubService {
      * @throws SymbolNotSupportedException if symbol not supported
      */
     public QuoteDto getQuote(String symbol) {
-        URI uri = buildUri("/quote", b -> b.queryParam("symbol", symbol));
-        
-        try {
-            return restTemplate.getForObject(uri, QuoteDto.class);
-        } catch (HttpClientErrorException.TooManyRequests e) {
-            throw new RateLimitException("Finnhub API rate limit exceeded", e);
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.BAD_REQUEST || 
-                e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SymbolNotSupportedException(symbol, e);
-            }
-            throw new RuntimeException("Unexpected error calling Finnhub API", e);
-        }
+        return Futures.join(getQuoteAsync(symbol));
     }
     
     
     /**
-     * Retrieves basic financials for a symbol.
+     * Retrieves the latest annual financial metrics for a symbol without blocking the caller.
+     * The response is read by {@link FinnhubMetricParser}, which keeps only the most
+     * recent annual value per metric instead of materializing the full history.
+     * Concurrent calls for the same symbol share one upstream request.
      * 
      * @param symbol stock symbol
-     * @return financials data
-     * @throws RateLimitException if rate limit exceeded
-     * @throws SymbolNotSupportedException if symbol not supported
+     * @param priority rate limiter lane
+     * @return future with the latest annual metrics; fails with RateLimitException if rate
+     *         limit exceeded or SymbolNotSupportedException if symbol not supported
      */
-    public BasicFinancialsDto getBasicFinancials(String symbol) {
+    public CompletableFuture<LatestAnnualMetrics> getBasicFinancialsAsync(String symbol, RequestPriority priority) {
         URI uri = buildUri("/stock/metric", b -> b
                 .queryParam("symbol", symbol)
                 .queryParam("metric", "all"));
         
-        try {
-            return restTemplate.getForObject(uri, BasicFinancialsDto.class);
-        } catch (HttpClientErrorException.TooManyRequests e) {
-            throw new RateLimitException("Finnhub API rate limit exceeded", e);
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.BAD_REQUEST || 
-                e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SymbolNotSupportedException(symbol, e);
-            }
-            throw new RuntimeException("Unexpected error calling Finnhub API", e);
-        }
+        return metricCalls.executeAsync("/stock/metric?symbol=" + symbol + "&metric=all",
+                () -> limited("metric", priority, () -> httpClient.get(uri, symbol, FinnhubMetricParser::parse)));
+    }
+    
+    /**
+     * Retrieves the latest annual financial metrics for a symbol.
+     * 
+     * @param symbol stock symbol
+     * @param priority rate limiter lane
+     * @return latest annual metrics
+     * @throws RateLimitException if rate limit exceeded
+     * @throws SymbolNotSupportedException if symbol not supported
+     */
+    public LatestAnnualMetrics getBasicFinancials(String symbol, RequestPriority priority) {
+        return Futures.join(getBasicFinancialsAsync(symbol, priority));
     }
 }
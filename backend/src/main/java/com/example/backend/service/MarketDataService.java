@@ -1,35 +1,299 @@
 package com.example.backend.service;
 
+import com.example.backend.config.MarketDataProperties;
 import com.example.backend.dto.*;
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamTimeoutException;
+import com.example.backend.exception.UpstreamUnavailableException;
+import com.example.backend.util.Futures;
+import com.example.backend.util.SingleFlight;
+import com.example.backend.util.SymbolUtils;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for market data business logic and data sanitization.
  * Transforms raw Finnhub data into clean, frontend-ready views.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MarketDataService {
     
     private final FinnhubService finnhubService;
-    private final PolygonService polygonService;
+    private final DividendHistoryService dividendHistoryService;
+    private final Cache<String, QuoteView> quoteCache;
+    private final Cache<String, BasicFinancialsView> fundamentalsCache;
+    private final Cache<String, Versioned<ChowderResultView>> chowderCache;
+    private final Cache<String, Versioned<DdmDataView>> ddmCache;
+    private final MarketDataProperties properties;
+    
+    @Qualifier("cacheRefreshExecutor")
+    private final ExecutorService refreshExecutor;
+    
+    /** Symbols with a background fundamentals refresh queued or running. */
+    private final Set<String> refreshingFundamentals = ConcurrentHashMap.newKeySet();
+    
+    /** Concurrent misses for the same analysis share one calculation. */
+    private final SingleFlight<String, Versioned<ChowderResultView>> chowderCalls = new SingleFlight<>();
+    private final SingleFlight<String, Versioned<DdmDataView>> ddmCalls = new SingleFlight<>();
     
     /**
      * Retrieves and sanitizes quote data for frontend consumption.
+     * Served from the quote cache when a fresh entry exists.
      * 
      * @param symbol stock symbol
      * @return sanitized quote view
      */
     public QuoteView getQuoteSanitized(String symbol) {
-        QuoteDto dto = finnhubService.getQuote(symbol);
+        return getOrLoad(quoteCache, SymbolUtils.normalize(symbol), this::loadQuote);
+    }
+    
+    /**
+     * Retrieves a quote with its version, for conditional requests.
+     * The version is derived from the quote's values; it lives as long as the cache entry.
+     * A cache miss therefore always fetches the quote from Finnhub, even for a request whose
+     * If-None-Match matches the previous version: the version cannot be known without the
+     * values. Concurrent misses for a symbol share the one fetch.
+     * 
+     * @param symbol stock symbol
+     * @return sanitized quote view with version and remaining cache lifetime
+     */
+    public Versioned<QuoteView> getQuoteVersioned(String symbol) {
+        return getQuoteVersioned(symbol, RequestPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Retrieves a quote with its version, fetching a missing quote through the given
+     * Finnhub lane.
+     * 
+     * @param symbol stock symbol
+     * @param priority rate limiter lane for a cache miss
+     * @return sanitized quote view with version and remaining cache lifetime
+     */
+    public Versioned<QuoteView> getQuoteVersioned(String symbol, RequestPriority priority) {
+        String key = SymbolUtils.normalize(symbol);
+        QuoteView quote = getOrLoad(quoteCache, key,
+                k -> toQuoteView(Futures.join(finnhubService.getQuoteAsync(k, priority))));
+        
+        long hash = 17;
+        for (Double value : new Double[] {quote.getCurrentPrice(), quote.getHigh(), quote.getLow(),
+                quote.getOpen(), quote.getPreviousClose()}) {
+            hash = 31 * hash + (value == null ? 0 : Double.doubleToLongBits(value));
+        }
+        return new Versioned<>(quote, "q" + Long.toHexString(hash),
+                remainingTtl(quoteCache, key, properties.getCache().getQuote().getTtl()));
+    }
+    
+    /**
+     * Returns the cached value or loads and caches it.
+     * Unlike Cache.get(key, loader), the loader runs outside the cache's internal
+     * ConcurrentHashMap lock: a blocking upstream call inside that monitor would pin the
+     * carrier of a virtual request thread, and would also block other keys in the same
+     * hash bin. Concurrent misses for a key are coalesced by the loader's SingleFlight
+     * (Finnhub calls in FinnhubService, analyses here).
+     * 
+     * @param cache cache to read and fill
+     * @param key normalized symbol
+     * @param loader loads the value on a miss
+     * @return cached or freshly loaded value; null (and nothing cached) if the loader returns null
+     */
+    private static <V> V getOrLoad(Cache<String, V> cache, String key, Function<String, V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+    
+    /**
+     * @return how much longer the entry stays cached; the full TTL if the cache does not track age
+     */
+    private static Duration remainingTtl(Cache<String, ?> cache, String key, Duration ttl) {
+        return cache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(age -> ttl.compareTo(age) > 0 ? ttl.minus(age) : Duration.ZERO)
+                .orElse(ttl);
+    }
+    
+    /**
+     * Retrieves quotes for several symbols at once.
+     * Cached quotes are resolved in a single lookup; misses are fetched concurrently without
+     * blocking, with at most batch.parallelism fetches in flight for this request.
+     * A symbol that fails or times out is reported under errors without failing the others.
+     * 
+     * @param symbols stock symbols; blanks, duplicates and casing variants are collapsed
+     * @return quotes and per-symbol errors, keyed by normalized symbol in request order
+     * @throws IllegalArgumentException if no symbols or more than batch.max-symbols are given
+     */
+    public QuoteBatchView getQuotesSanitized(Collection<String> symbols) {
+        MarketDataProperties.Batch batch = properties.getBatch();
+        Set<String> keys = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                keys.add(SymbolUtils.normalize(symbol));
+            }
+        }
+        
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        if (keys.size() > batch.getMaxSymbols()) {
+            throw new IllegalArgumentException("At most " + batch.getMaxSymbols() + " symbols are allowed per request");
+        }
+        
+        Map<String, QuoteView> hits = quoteCache.getAllPresent(keys);
+        Map<String, QuoteView> fetched = new ConcurrentHashMap<>();
+        Map<String, QuoteBatchView.SymbolError> failed = new ConcurrentHashMap<>();
+        
+        Queue<String> misses = new ConcurrentLinkedQueue<>();
+        for (String key : keys) {
+            if (!hits.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            fetchQuotes(misses, fetched, failed, batch);
+        }
+        
+        Map<String, QuoteView> quotes = new LinkedHashMap<>();
+        Map<String, QuoteBatchView.SymbolError> errors = new LinkedHashMap<>();
+        for (String key : keys) {
+            QuoteView quote = hits.containsKey(key) ? hits.get(key) : fetched.get(key);
+            if (quote != null) {
+                quotes.put(key, quote);
+            } else {
+                errors.put(key, failed.getOrDefault(key, symbolError(HttpStatus.GATEWAY_TIMEOUT, "Timed out fetching quote")));
+            }
+        }
+        
+        return QuoteBatchView.builder()
+                .quotes(quotes)
+                .errors(errors)
+                .build();
+    }
+    
+    /**
+     * Fetches the missing quotes of a batch without holding a thread per symbol.
+     * A fixed number of chains drain a shared queue, each starting its next fetch when the
+     * previous one completes, so one batch never has more than batch.parallelism upstream
+     * calls in flight. Fetched quotes are added to the quote cache.
+     * 
+     * @param misses normalized symbols to fetch; drained by the chains
+     * @param fetched receives successfully fetched quotes
+     * @param failed receives per-symbol errors
+     * @param batch batch limits
+     */
+    private void fetchQuotes(Queue<String> misses, Map<String, QuoteView> fetched,
+                             Map<String, QuoteBatchView.SymbolError> failed, MarketDataProperties.Batch batch) {
+        int chains = Math.min(batch.getParallelism(), misses.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[chains];
         
-        // TODO: Implement caching with TTL 15-60s for quotes
-        // Consider using @Cacheable with Spring Cache + Caffeine
+        for (int i = 0; i < chains; i++) {
+            running[i] = fetchNextQuote(misses, fetched, failed);
+        }
         
+        try {
+            CompletableFuture.allOf(running).get(batch.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Batch quote fetch timed out after {} with {} symbols not started", batch.getTimeout(), misses.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch quote fetch failed", e.getCause());
+        } finally {
+            // Unstarted symbols are reported as timed out; stop the chains from picking them up
+            misses.clear();
+        }
+    }
+    
+    private CompletableFuture<Void> fetchNextQuote(Queue<String> misses, Map<String, QuoteView> fetched,
+                                                   Map<String, QuoteBatchView.SymbolError> failed) {
+        String symbol = misses.poll();
+        if (symbol == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return finnhubService.getQuoteAsync(symbol)
+                .handle((dto, error) -> {
+                    if (error != null) {
+                        failed.put(symbol, toSymbolError(symbol, Futures.unwrap(error)));
+                    } else if (dto == null) {
+                        failed.put(symbol, toSymbolError(symbol, new IllegalStateException("Empty quote response")));
+                    } else {
+                        QuoteView quote = toQuoteView(dto);
+                        quoteCache.put(symbol, quote);
+                        fetched.put(symbol, quote);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> fetchNextQuote(misses, fetched, failed));
+    }
+    
+    /**
+     * Maps a failed quote fetch to the error reported for that symbol.
+     * 
+     * @param symbol normalized stock symbol
+     * @param e unwrapped failure
+     * @return per-symbol error
+     */
+    static QuoteBatchView.SymbolError toSymbolError(String symbol, Throwable e) {
+        if (e instanceof SymbolNotSupportedException) {
+            return symbolError(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (e instanceof RateLimitException || e instanceof UpstreamUnavailableException) {
+            return symbolError(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        log.warn("Failed to fetch quote for {}: {}", symbol, e.getMessage());
+        return symbolError(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+    }
+    
+    private static QuoteBatchView.SymbolError symbolError(HttpStatus status, String message) {
+        return new QuoteBatchView.SymbolError(status.value(), status.getReasonPhrase(), message);
+    }
+    
+    /**
+     * Fetches a quote from Finnhub and maps it to a view.
+     * 
+     * @param symbol normalized stock symbol
+     * @return sanitized quote view
+     */
+    private QuoteView loadQuote(String symbol) {
+        return toQuoteView(finnhubService.getQuote(symbol));
+    }
+    
+    private QuoteView toQuoteView(QuoteDto dto) {
         return QuoteView.builder()
                 .currentPrice(dto.getCurrentPrice())
                 .high(dto.getHigh())
@@ -43,123 +307,227 @@ public class MarketDataService {
     
     /**
      * Retrieves and sanitizes comprehensive financials data for frontend consumption.
-     * Extracts all 37+ available financial metrics from Finnhub API.
+     * Served from the fundamentals cache when an entry exists. An entry past its TTL is
+     * returned immediately with stale=true while a background refresh replaces it.
      * 
      * @param symbol stock symbol
      * @return sanitized financials view with all available metrics
      */
     public BasicFinancialsView getBasicFinancialsSanitized(String symbol) {
-        BasicFinancialsDto dto = finnhubService.getBasicFinancials(symbol);
+        String key = SymbolUtils.normalize(symbol);
+        BasicFinancialsView cached = fundamentalsCache.getIfPresent(key);
+        
+        if (cached == null) {
+            return getOrLoad(fundamentalsCache, key, this::loadBasicFinancials);
+        }
+        
+        Instant freshUntil = cached.getFetchedAt().plus(properties.getCache().getFundamentals().getTtl());
+        if (Instant.now().isBefore(freshUntil)) {
+            return cached;
+        }
         
-        // TODO: Implement caching with TTL 24h for financials
-        // Consider using @Cacheable with Spring Cache + Caffeine
+        refreshFundamentalsInBackground(key);
+        return cached.toBuilder().stale(true).build();
+    }
+    
+    /**
+     * Retrieves financials with their version, for conditional requests.
+     * The version comes from fetchedAt (and the stale flag); stale entries have no
+     * remaining lifetime since a refresh is already under way.
+     * 
+     * @param symbol stock symbol
+     * @return sanitized financials view with version and remaining cache lifetime
+     */
+    public Versioned<BasicFinancialsView> getBasicFinancialsVersioned(String symbol) {
+        BasicFinancialsView view = getBasicFinancialsSanitized(symbol);
+        boolean stale = Boolean.TRUE.equals(view.getStale());
+        
+        Duration maxAge = Duration.ZERO;
+        if (!stale) {
+            Duration remaining = Duration.between(Instant.now(),
+                    view.getFetchedAt().plus(properties.getCache().getFundamentals().getTtl()));
+            maxAge = remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+        String version = "f" + Long.toHexString(view.getFetchedAt().toEpochMilli()) + (stale ? "s" : "");
+        return new Versioned<>(view, version, maxAge);
+    }
+    
+    /**
+     * Schedules a background refresh of the fundamentals entry for a symbol.
+     * At most one refresh per symbol is queued or running at a time; if the executor
+     * is saturated the refresh is skipped and retried on a later read.
+     * 
+     * @param symbol normalized stock symbol
+     * @return true if a refresh was scheduled by this call
+     */
+    private boolean refreshFundamentalsInBackground(String symbol) {
+        if (!refreshingFundamentals.add(symbol)) {
+            return false;
+        }
         
-        Map<String, Object> series = dto.getSeries();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    fundamentalsCache.put(symbol, loadBasicFinancials(symbol, RequestPriority.BACKGROUND));
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of fundamentals for {} failed: {}", symbol, e.getMessage());
+                } finally {
+                    refreshingFundamentals.remove(symbol);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshingFundamentals.remove(symbol);
+            return false;
+        }
+    }
+    
+    /**
+     * Refreshes the cached quote for a symbol if it is missing or would expire within the
+     * given window. The request goes through Finnhub's background lane and does not block.
+     * 
+     * @param symbol stock symbol
+     * @param window how far ahead to look for expiry
+     * @return true if an upstream request was started
+     */
+    public boolean prewarmQuote(String symbol, Duration window) {
+        String key = SymbolUtils.normalize(symbol);
+        Duration ttl = properties.getCache().getQuote().getTtl();
+        boolean fresh = quoteCache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .map(age -> age.plus(window).compareTo(ttl) < 0)
+                .orElse(false);
+        if (fresh) {
+            return false;
+        }
         
-        // Extract all available financial metrics from the annual data
+        finnhubService.getQuoteAsync(key, RequestPriority.BACKGROUND).whenComplete((dto, error) -> {
+            if (error != null) {
+                log.debug("Prewarming quote for {} failed: {}", key, Futures.unwrap(error).getMessage());
+            } else if (dto != null) {
+                quoteCache.put(key, toQuoteView(dto));
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Refreshes the cached fundamentals for a symbol in the background if they are missing
+     * or would expire within the given window.
+     * 
+     * @param symbol stock symbol
+     * @param window how far ahead to look for expiry
+     * @return true if a refresh was scheduled
+     */
+    public boolean prewarmBasicFinancials(String symbol, Duration window) {
+        String key = SymbolUtils.normalize(symbol);
+        BasicFinancialsView cached = fundamentalsCache.getIfPresent(key);
+        if (cached != null) {
+            Instant freshUntil = cached.getFetchedAt().plus(properties.getCache().getFundamentals().getTtl());
+            if (Instant.now().plus(window).isBefore(freshUntil)) {
+                return false;
+            }
+        }
+        return refreshFundamentalsInBackground(key);
+    }
+    
+    /**
+     * Syncs the stored dividend and split history used by the Chowder and DDM analyses
+     * if it is missing or due. Blocks while Polygon is called.
+     * 
+     * @param symbol stock symbol
+     * @return true if Polygon was called
+     */
+    public boolean prewarmDividendHistory(String symbol) {
+        return dividendHistoryService.syncIfDue(SymbolUtils.normalize(symbol), LocalDate.parse(chowderFromDate()));
+    }
+    
+    /**
+     * Fetches financials for a user-facing request.
+     * 
+     * @param symbol normalized stock symbol
+     * @return sanitized financials view with all available metrics
+     */
+    private BasicFinancialsView loadBasicFinancials(String symbol) {
+        return loadBasicFinancials(symbol, RequestPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Fetches financials from Finnhub and extracts all 37+ available financial metrics.
+     * 
+     * @param symbol normalized stock symbol
+     * @param priority rate limiter lane for the Finnhub request
+     * @return sanitized financials view with all available metrics
+     */
+    private BasicFinancialsView loadBasicFinancials(String symbol, RequestPriority priority) {
+        LatestAnnualMetrics metrics = finnhubService.getBasicFinancials(symbol, priority);
+        
+        // Map the latest annual value of each metric onto the view
         return BasicFinancialsView.builder()
                 .symbol(symbol)
                 
                 // Valuation Ratios
-                .priceToEarningsRatio(extractLatestValueFromAnnual(series, "pe"))
-                .priceToBookRatio(extractLatestValueFromAnnual(series, "pb"))
-                .priceToSalesRatio(extractLatestValueFromAnnual(series, "ps"))
-                .priceToFreeCashFlowRatio(extractLatestValueFromAnnual(series, "pfcf"))
-                .priceToTangibleBookValueRatio(extractLatestValueFromAnnual(series, "ptbv"))
+                .priceToEarningsRatio(metrics.get(AnnualMetric.PE))
+                .priceToBookRatio(metrics.get(AnnualMetric.PB))
+                .priceToSalesRatio(metrics.get(AnnualMetric.PS))
+                .priceToFreeCashFlowRatio(metrics.get(AnnualMetric.PFCF))
+                .priceToTangibleBookValueRatio(metrics.get(AnnualMetric.PTBV))
                 
                 // Profitability Margins
-                .grossMargin(extractLatestValueFromAnnual(series, "grossMargin"))
-                .operatingMargin(extractLatestValueFromAnnual(series, "operatingMargin"))
-                .netMargin(extractLatestValueFromAnnual(series, "netMargin"))
-                .pretaxMargin(extractLatestValueFromAnnual(series, "pretaxMargin"))
-                .freeCashFlowMargin(extractLatestValueFromAnnual(series, "fcfMargin"))
+                .grossMargin(metrics.get(AnnualMetric.GROSS_MARGIN))
+                .operatingMargin(metrics.get(AnnualMetric.OPERATING_MARGIN))
+                .netMargin(metrics.get(AnnualMetric.NET_MARGIN))
+                .pretaxMargin(metrics.get(AnnualMetric.PRETAX_MARGIN))
+                .freeCashFlowMargin(metrics.get(AnnualMetric.FCF_MARGIN))
                 
                 // Per-Share Metrics
-                .earningsPerShare(extractLatestValueFromAnnual(series, "eps"))
-                .ebitPerShare(extractLatestValueFromAnnual(series, "ebitPerShare"))
-                .salesPerShare(extractLatestValueFromAnnual(series, "salesPerShare"))
+                .earningsPerShare(metrics.get(AnnualMetric.EPS))
+                .ebitPerShare(metrics.get(AnnualMetric.EBIT_PER_SHARE))
+                .salesPerShare(metrics.get(AnnualMetric.SALES_PER_SHARE))
                 // TODO: These metrics may be returning total values instead of per-share values and need to be fixed
-                // .tangibleBookValuePerShare(convertFromMillions(extractLatestValueFromAnnual(series, "tangibleBookValue")))
+                // .tangibleBookValuePerShare(convertFromMillions(<annual "tangibleBookValue">))
                 
                 // Liquidity Ratios
-                .currentRatio(extractLatestValueFromAnnual(series, "currentRatio"))
-                .quickRatio(extractLatestValueFromAnnual(series, "quickRatio"))
-                .cashRatio(extractLatestValueFromAnnual(series, "cashRatio"))
+                .currentRatio(metrics.get(AnnualMetric.CURRENT_RATIO))
+                .quickRatio(metrics.get(AnnualMetric.QUICK_RATIO))
+                .cashRatio(metrics.get(AnnualMetric.CASH_RATIO))
                 
                 // Leverage Ratios
-                .totalDebtToEquity(extractLatestValueFromAnnual(series, "totalDebtToEquity"))
-                .totalDebtToTotalAsset(extractLatestValueFromAnnual(series, "totalDebtToTotalAsset"))
-                .totalDebtToTotalCapital(extractLatestValueFromAnnual(series, "totalDebtToTotalCapital"))
-                .longtermDebtToTotalAsset(extractLatestValueFromAnnual(series, "longtermDebtTotalAsset"))
-                .longtermDebtToTotalCapital(extractLatestValueFromAnnual(series, "longtermDebtTotalCapital"))
-                .longtermDebtToTotalEquity(extractLatestValueFromAnnual(series, "longtermDebtTotalEquity"))
-                .netDebtToTotalCapital(extractLatestValueFromAnnual(series, "netDebtToTotalCapital"))
-                .netDebtToTotalEquity(extractLatestValueFromAnnual(series, "netDebtToTotalEquity"))
+                .totalDebtToEquity(metrics.get(AnnualMetric.TOTAL_DEBT_TO_EQUITY))
+                .totalDebtToTotalAsset(metrics.get(AnnualMetric.TOTAL_DEBT_TO_TOTAL_ASSET))
+                .totalDebtToTotalCapital(metrics.get(AnnualMetric.TOTAL_DEBT_TO_TOTAL_CAPITAL))
+                .longtermDebtToTotalAsset(metrics.get(AnnualMetric.LONGTERM_DEBT_TOTAL_ASSET))
+                .longtermDebtToTotalCapital(metrics.get(AnnualMetric.LONGTERM_DEBT_TOTAL_CAPITAL))
+                .longtermDebtToTotalEquity(metrics.get(AnnualMetric.LONGTERM_DEBT_TOTAL_EQUITY))
+                .netDebtToTotalCapital(metrics.get(AnnualMetric.NET_DEBT_TO_TOTAL_CAPITAL))
+                .netDebtToTotalEquity(metrics.get(AnnualMetric.NET_DEBT_TO_TOTAL_EQUITY))
                 
                 // Efficiency Ratios
-                .returnOnAssets(extractLatestValueFromAnnual(series, "roa"))
-                .returnOnEquity(extractLatestValueFromAnnual(series, "roe"))
-                .returnOnInvestedCapital(extractLatestValueFromAnnual(series, "roic"))
-                .returnOnTotalCapital(extractLatestValueFromAnnual(series, "rotc"))
-                .inventoryTurnover(extractLatestValueFromAnnual(series, "inventoryTurnover"))
-                .receivablesTurnover(extractLatestValueFromAnnual(series, "receivablesTurnover"))
+                .returnOnAssets(metrics.get(AnnualMetric.ROA))
+                .returnOnEquity(metrics.get(AnnualMetric.ROE))
+                .returnOnInvestedCapital(metrics.get(AnnualMetric.ROIC))
+                .returnOnTotalCapital(metrics.get(AnnualMetric.ROTC))
+                .inventoryTurnover(metrics.get(AnnualMetric.INVENTORY_TURNOVER))
+                .receivablesTurnover(metrics.get(AnnualMetric.RECEIVABLES_TURNOVER))
                 
                 // Valuation Metrics (convert from millions to absolute values)
-                .enterpriseValue(convertFromMillions(extractLatestValueFromAnnual(series, "ev")))
-                .evToEbitda(extractLatestValueFromAnnual(series, "evEbitda"))
-                .evToRevenue(extractLatestValueFromAnnual(series, "evRevenue"))
+                .enterpriseValue(convertFromMillions(metrics.get(AnnualMetric.EV)))
+                .evToEbitda(metrics.get(AnnualMetric.EV_EBITDA))
+                .evToRevenue(metrics.get(AnnualMetric.EV_REVENUE))
                 
                 // Other Metrics (convert from millions to absolute values)
-                .payoutRatio(extractLatestValueFromAnnual(series, "payoutRatio"))
+                .payoutRatio(metrics.get(AnnualMetric.PAYOUT_RATIO))
                 // TODO: These metrics may be returning total values instead of per-share values and need to be fixed
-                // .bookValuePerShare(convertFromMillions(extractLatestValueFromAnnual(series, "bookValue")))
-                .sgaToSale(extractLatestValueFromAnnual(series, "sgaToSale"))
-                .totalRatio(extractLatestValueFromAnnual(series, "totalRatio"))
+                // .bookValuePerShare(convertFromMillions(<annual "bookValue">))
+                .sgaToSale(metrics.get(AnnualMetric.SGA_TO_SALE))
+                .totalRatio(metrics.get(AnnualMetric.TOTAL_RATIO))
                 
+                .fetchedAt(Instant.now())
+                .stale(false)
                 .build();
     }
     
     
-    /**
-     * Extracts the latest value from annual financial data.
-     * The Finnhub API returns financial metrics nested under an "annual" key.
-     * 
-     * @param series financial data series
-     * @param key metric key
-     * @return latest double value or null if not found/invalid
-     */
-    @SuppressWarnings("unchecked")
-    private Double extractLatestValueFromAnnual(Map<String, Object> series, String key) {
-        if (series == null || !series.containsKey("annual")) {
-            return null;
-        }
-        
-        Object annualData = series.get("annual");
-        if (!(annualData instanceof Map)) {
-            return null;
-        }
-        
-        Map<String, Object> annualMap = (Map<String, Object>) annualData;
-        if (!annualMap.containsKey(key)) {
-            return null;
-        }
-        
-        Object value = annualMap.get(key);
-        
-        if (value instanceof java.util.List) {
-            java.util.List<Map<String, Object>> list = (java.util.List<Map<String, Object>>) value;
-            if (!list.isEmpty()) {
-                Map<String, Object> latest = list.get(0); // First item is most recent
-                Object v = latest.get("v");
-                if (v instanceof Number) {
-                    return ((Number) v).doubleValue();
-                }
-            }
-        }
-        
-        return null;
-    }
-    
     /**
      * Converts values from millions to absolute values.
      * Finnhub returns certain metrics (enterprise value, book value, etc.) in millions.
@@ -175,6 +543,17 @@ public class MarketDataService {
     }
     
     
+    /**
+     * Start of the dividend history the Chowder Rule needs: 6 years before the last
+     * complete year, so 5 full years of growth can be measured.
+     * 
+     * @return start date (ISO format: YYYY-MM-DD)
+     */
+    private static String chowderFromDate() {
+        int lastCompleteYear = LocalDate.now().getYear() - 1;
+        return (lastCompleteYear - 6) + "-01-01";
+    }
+    
     /**
      * Calculates Chowder Rule score for a given stock symbol.
      * Fetches current price, dividend history, adjusts for splits, and calculates the score.
@@ -183,9 +562,12 @@ public class MarketDataService {
      * @return ChowderRuleResult with score, breakdown, and metadata
      */
     public ChowderResultView calculateChowderRule(String symbol) {
-        // Fetch current price
-        QuoteView quote = getQuoteSanitized(symbol);
-        Double currentPrice = quote.getCurrentPrice();
+        // Fetch dividend history from last 6 years (to ensure we have 5-year data)
+        String fromDate = chowderFromDate();
+        
+        // Fetch current price, dividends and splits concurrently
+        DividendInputs inputs = fetchDividendInputs(symbol, fromDate);
+        Double currentPrice = inputs.quote().getCurrentPrice();
         
         if (currentPrice == null || currentPrice <= 0) {
             return ChowderResultView.builder()
@@ -199,13 +581,8 @@ public class MarketDataService {
                     .build();
         }
         
-        // Fetch dividend history from last 6 years (to ensure we have 5-year data)
-        int currentYear = java.time.LocalDate.now().getYear();
-        int lastCompleteYear = currentYear - 1;
-        String fromDate = (lastCompleteYear - 6) + "-01-01"; // Start from 6 years before last complete year
-        
-        List<DividendDto> dividends = polygonService.fetchDividendHistory(symbol, fromDate);
-        List<StockSplitDto> splits = polygonService.fetchStockSplits(symbol, fromDate);
+        List<DividendDto> dividends = inputs.dividends();
+        List<StockSplitDto> splits = inputs.splits();
         
         if (dividends == null || dividends.isEmpty()) {
             return ChowderResultView.builder()
@@ -219,80 +596,74 @@ public class MarketDataService {
                     .build();
         }
         
-        // Adjust dividends for stock splits
-        List<DividendDto> adjustedDividends = adjustDividendsForSplits(dividends, splits);
-        
-        // Calculate Chowder score
-        return calculateChowderScore(adjustedDividends, currentPrice);
+        // Adjust dividends for stock splits and calculate Chowder score
+        return calculateChowderScore(DividendSeries.of(dividends, splits), currentPrice);
+    }
+    
+    /**
+     * Current quote plus dividend and split history for one symbol.
+     */
+    private record DividendInputs(QuoteView quote, List<DividendDto> dividends, List<StockSplitDto> splits) {
+    }
+    
+    /**
+     * Fetches the quote, dividends and splits for a symbol concurrently, so latency is that
+     * of the slowest call rather than the sum of all three. The upstream calls are started
+     * without blocking and share one deadline (upstream.fan-out-timeout); the first failure
+     * is rethrown as-is and the remaining calls are left to complete and fill the caches.
+     * Fetched dividends and splits are stored on this thread once all calls are done.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate earliest dividend/split date (YYYY-MM-DD)
+     * @return quote, dividends and splits
+     * @throws RateLimitException if an upstream rate limit is exceeded
+     * @throws SymbolNotSupportedException if the symbol is not supported
+     * @throws UpstreamTimeoutException if the calls do not complete in time
+     */
+    private DividendInputs fetchDividendInputs(String symbol, String fromDate) {
+        CompletableFuture<QuoteView> quote = getQuoteAsync(symbol);
+        CompletableFuture<Supplier<List<DividendDto>>> dividends =
+                dividendHistoryService.fetchDividendsAsync(symbol, fromDate);
+        CompletableFuture<Supplier<List<StockSplitDto>>> splits =
+                dividendHistoryService.fetchSplitsAsync(symbol, fromDate);
+        
+        Futures.awaitAll(properties.getUpstream().getFanOutTimeout(), quote, dividends, splits);
+        return new DividendInputs(quote.join(), dividends.join().get(), splits.join().get());
     }
     
     /**
-     * Adjusts dividends for stock splits by dividing dividends that occurred before splits
-     * by the split ratio. This ensures historical dividends are on a consistent share basis.
+     * Returns the cached quote, or fetches it from Finnhub without blocking and caches it.
      * 
-     * @param dividends list of dividends
-     * @param splits list of stock splits
-     * @return adjusted dividends
+     * @param symbol stock symbol
+     * @return future with the sanitized quote view
      */
-    private List<DividendDto> adjustDividendsForSplits(List<DividendDto> dividends, List<StockSplitDto> splits) {
-        if (splits == null || splits.isEmpty()) {
-            return dividends;
+    private CompletableFuture<QuoteView> getQuoteAsync(String symbol) {
+        String key = SymbolUtils.normalize(symbol);
+        QuoteView cached = quoteCache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
-        
-        // Sort splits by execution date (ascending)
-        List<StockSplitDto> sortedSplits = splits.stream()
-                .sorted((a, b) -> a.getExecutionDate().compareTo(b.getExecutionDate()))
-                .toList();
-        
-        // For each dividend, apply all splits that occurred after its ex-dividend date
-        return dividends.stream()
-                .map(dividend -> {
-                    double factor = 1.0;
-                    
-                    for (StockSplitDto split : sortedSplits) {
-                        // If split happened after the dividend ex-date, we need to adjust that past dividend
-                        if (split.getExecutionDate().compareTo(dividend.getExDividendDate()) > 0) {
-                            double splitTo = split.getSplitTo() != null ? split.getSplitTo().doubleValue() : 0;
-                            double splitFrom = split.getSplitFrom() != null ? split.getSplitFrom().doubleValue() : 0;
-                            
-                            if (splitTo > 0 && splitFrom > 0) {
-                                factor *= splitTo / splitFrom;
-                            }
-                        }
-                    }
-                    
-                    if (factor == 1.0) {
-                        return dividend;
-                    }
-                    
-                    // Adjust the dividend amount
-                    double adjustedAmount = dividend.getCashAmount() / factor;
-                    return new DividendDto(adjustedAmount, dividend.getExDividendDate());
-                })
-                .toList();
+        return finnhubService.getQuoteAsync(key)
+                .thenApply(dto -> {
+                    QuoteView quote = toQuoteView(dto);
+                    quoteCache.put(key, quote);
+                    return quote;
+                });
     }
     
     /**
-     * Calculates Chowder score from adjusted dividends.
-     * Groups dividends by year, calculates TTM yield and CAGR.
+     * Calculates Chowder score from a split-adjusted dividend series.
+     * Yearly totals and the TTM total come from a single pass over the series.
+     * Static and package-private so it can be benchmarked without the upstream clients.
      * 
-     * @param dividends adjusted dividend list
+     * @param series split-adjusted dividends
      * @param currentPrice current stock price
      * @return ChowderRuleResult with calculated values
      */
-    private ChowderResultView calculateChowderScore(List<DividendDto> dividends, Double currentPrice) {
-        // Group dividends by calendar year
-        Map<String, Double> dividendsByYear = new java.util.HashMap<>();
-        
-        for (DividendDto dividend : dividends) {
-            if (dividend.getCashAmount() != null && dividend.getExDividendDate() != null) {
-                String year = dividend.getExDividendDate().substring(0, 4);
-                double amount = dividend.getCashAmount();
-                dividendsByYear.put(year, dividendsByYear.getOrDefault(year, 0.0) + amount);
-            }
-        }
-        
-        int yearsOfData = dividendsByYear.size();
+    static ChowderResultView calculateChowderScore(DividendSeries series, Double currentPrice) {
+        // Totals per calendar year, plus dividends from last 365 days for the TTM yield
+        DividendSeries.Summary summary = series.summarize(LocalDate.now().minusDays(365));
+        int yearsOfData = summary.yearsWithDividends();
         
         if (yearsOfData < 2) {
             return ChowderResultView.builder()
@@ -306,49 +677,24 @@ public class MarketDataService {
                     .build();
         }
         
-        // Calculate TTM dividend yield (dividends from last 365 days)
-        java.time.LocalDate oneYearAgo = java.time.LocalDate.now().minusDays(365);
-        double ttmDividends = dividends.stream()
-                .filter(d -> d.getExDividendDate() != null && 
-                        d.getExDividendDate().compareTo(oneYearAgo.toString()) >= 0)
-                .mapToDouble(d -> d.getCashAmount() != null ? d.getCashAmount() : 0.0)
-                .sum();
-        
-        double dividendYield = (ttmDividends / currentPrice) * 100;
+        // Calculate TTM dividend yield
+        double dividendYield = (summary.windowTotal() / currentPrice) * 100;
         
-        // Calculate dividend CAGR
-        int currentYearNum = java.time.LocalDate.now().getYear();
-        int lastCompleteYear = currentYearNum - 1;
-        String lastCompleteYearStr = String.valueOf(lastCompleteYear);
+        // Calculate dividend CAGR, 5-year first and falling back to 3-year
+        int lastCompleteYear = LocalDate.now().getYear() - 1;
         
         double dividendCAGR = 0.0;
         int cagrYears = 0;
-        String fromYear = "";
-        
-        // Try 5-year CAGR first
-        String fiveYearsAgo = String.valueOf(lastCompleteYear - 5);
-        if (dividendsByYear.containsKey(fiveYearsAgo) && dividendsByYear.containsKey(lastCompleteYearStr)) {
-            double startDividend = dividendsByYear.get(fiveYearsAgo);
-            double endDividend = dividendsByYear.get(lastCompleteYearStr);
-            
-            if (startDividend > 0 && endDividend > 0) {
-                cagrYears = 5;
-                fromYear = fiveYearsAgo;
-                dividendCAGR = (Math.pow(endDividend / startDividend, 1.0 / 5) - 1) * 100;
-            }
-        }
-        
-        // Fall back to 3-year CAGR if 5-year isn't available
-        if (cagrYears == 0) {
-            String threeYearsAgo = String.valueOf(lastCompleteYear - 3);
-            if (dividendsByYear.containsKey(threeYearsAgo) && dividendsByYear.containsKey(lastCompleteYearStr)) {
-                double startDividend = dividendsByYear.get(threeYearsAgo);
-                double endDividend = dividendsByYear.get(lastCompleteYearStr);
+        for (int years : new int[] {5, 3}) {
+            int fromYear = lastCompleteYear - years;
+            if (summary.hasYear(fromYear) && summary.hasYear(lastCompleteYear)) {
+                double startDividend = summary.yearTotal(fromYear);
+                double endDividend = summary.yearTotal(lastCompleteYear);
                 
                 if (startDividend > 0 && endDividend > 0) {
-                    cagrYears = 3;
-                    fromYear = threeYearsAgo;
-                    dividendCAGR = (Math.pow(endDividend / startDividend, 1.0 / 3) - 1) * 100;
+                    cagrYears = years;
+                    dividendCAGR = (Math.pow(endDividend / startDividend, 1.0 / years) - 1) * 100;
+                    break;
                 }
             }
         }
@@ -368,8 +714,8 @@ public class MarketDataService {
         double chowderScore = dividendYield + dividendCAGR;
         
         String message = String.format(
-                "Chowder Rule calculated using %d-year dividend CAGR (%s-%s)",
-                cagrYears, fromYear, lastCompleteYearStr);
+                "Chowder Rule calculated using %d-year dividend CAGR (%d-%d)",
+                cagrYears, lastCompleteYear - cagrYears, lastCompleteYear);
         
         return ChowderResultView.builder()
                 .chowderScore(chowderScore)
@@ -390,9 +736,13 @@ public class MarketDataService {
      * @return DdmDataView with current price and dividend information
      */
     public DdmDataView getDdmData(String symbol) {
-        // Fetch current price
-        QuoteView quote = getQuoteSanitized(symbol);
-        Double currentPrice = quote.getCurrentPrice();
+        // Fetch TTM dividend data (last 12 months)
+        LocalDate oneYearAgo = LocalDate.now().minusDays(365);
+        String fromDate = oneYearAgo.toString();
+        
+        // Fetch current price, dividends and splits concurrently
+        DividendInputs inputs = fetchDividendInputs(symbol, fromDate);
+        Double currentPrice = inputs.quote().getCurrentPrice();
         
         if (currentPrice == null || currentPrice <= 0) {
             return DdmDataView.builder()
@@ -403,12 +753,8 @@ public class MarketDataService {
                     .build();
         }
         
-        // Fetch TTM dividend data (last 12 months)
-        java.time.LocalDate oneYearAgo = java.time.LocalDate.now().minusDays(365);
-        String fromDate = oneYearAgo.toString();
-        
-        List<DividendDto> dividends = polygonService.fetchDividendHistory(symbol, fromDate);
-        List<StockSplitDto> splits = polygonService.fetchStockSplits(symbol, fromDate);
+        List<DividendDto> dividends = inputs.dividends();
+        List<StockSplitDto> splits = inputs.splits();
         
         if (dividends == null || dividends.isEmpty()) {
             return DdmDataView.builder()
@@ -419,15 +765,10 @@ public class MarketDataService {
                     .build();
         }
         
-        // Adjust dividends for stock splits
-        List<DividendDto> adjustedDividends = adjustDividendsForSplits(dividends, splits);
-        
-        // Calculate total dividend amount and count
-        double totalDividend = adjustedDividends.stream()
-                .mapToDouble(d -> d.getCashAmount() != null ? d.getCashAmount() : 0.0)
-                .sum();
-        
-        int dividendCount = adjustedDividends.size();
+        // Adjust dividends for stock splits; the history already starts one year ago
+        DividendSeries series = DividendSeries.of(dividends, splits);
+        double totalDividend = series.total();
+        int dividendCount = series.size();
         
         return DdmDataView.builder()
                 .symbol(symbol)
@@ -436,5 +777,45 @@ public class MarketDataService {
                 .dividendCount(dividendCount)
                 .build();
     }
+    
+    /**
+     * Calculates the Chowder Rule score for a symbol, served from the analysis cache
+     * while the result is younger than the analysis TTL.
+     * 
+     * @param symbol stock symbol
+     * @return Chowder result with version and remaining cache lifetime
+     * @throws RateLimitException if an upstream rate limit is exceeded
+     * @throws SymbolNotSupportedException if the symbol is not supported
+     */
+    public Versioned<ChowderResultView> getChowderVersioned(String symbol) {
+        String key = SymbolUtils.normalize(symbol);
+        Versioned<ChowderResultView> result = getOrLoad(chowderCache, key,
+                k -> chowderCalls.execute(k, () -> calculated(calculateChowderRule(k))));
+        return result.withMaxAge(remainingTtl(chowderCache, key, properties.getCache().getAnalysis().getTtl()));
+    }
+    
+    /**
+     * Retrieves DDM data for a symbol, served from the analysis cache while the result is
+     * younger than the analysis TTL.
+     * 
+     * @param symbol stock symbol
+     * @return DDM data with version and remaining cache lifetime
+     * @throws RateLimitException if an upstream rate limit is exceeded
+     * @throws SymbolNotSupportedException if the symbol is not supported
+     */
+    public Versioned<DdmDataView> getDdmVersioned(String symbol) {
+        String key = SymbolUtils.normalize(symbol);
+        Versioned<DdmDataView> result = getOrLoad(ddmCache, key,
+                k -> ddmCalls.execute(k, () -> calculated(getDdmData(k))));
+        return result.withMaxAge(remainingTtl(ddmCache, key, properties.getCache().getAnalysis().getTtl()));
+    }
+    
+    /**
+     * Versions a freshly calculated analysis by its calculation time.
+     */
+    private <T> Versioned<T> calculated(T value) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        return new Versioned<>(value, "a" + Long.toHexString(micros), properties.getCache().getAnalysis().getTtl());
+    }
 }
 
@@ -1,77 +1,141 @@
 package com.example.backend.service;
 
+import com.example.backend.config.MarketDataProperties;
 import com.example.backend.dto.DividendDto;
 import com.example.backend.dto.DividendHistoryDto;
 import com.example.backend.dto.StockSplitDto;
 import com.example.backend.dto.StockSplitsDto;
 import com.example.backend.exception.RateLimitException;
 import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.util.Futures;
+import com.example.backend.util.Pagination;
+import com.example.backend.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service for interacting with Polygon API.
  * Handles dividend history and stock splits data fetching.
+ * Requests are spread over a pool of API keys according to each key's remaining quota.
+ * Paginated responses are followed through next_url, each page on its own leased key.
+ * Request timings (per key slot) and error counts are published through {@link UpstreamMetrics}.
  */
 @Service
 public class PolygonService {
     
-    private final RestTemplate restTemplate;
-    private final List<String> apiKeys;
-    private static final AtomicInteger keyIndex = new AtomicInteger(0);
+    private static final String BASE_HOST = "api.polygon.io";
     
-    public PolygonService(@Qualifier("polygonRestTemplate") RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
-
-        apiKeys = new ArrayList<>();
-        apiKeys.add(System.getenv("POLYGON_API_KEY_ONE"));
-        apiKeys.add(System.getenv("POLYGON_API_KEY_TWO"));
-        apiKeys.add(System.getenv("POLYGON_API_KEY_THREE"));
+    private final UpstreamHttpClient httpClient;
+    private final ApiKeyPool keyPool;
+    private final UpstreamMetrics metrics;
+    private final SingleFlight<String, List<DividendDto>> dividendCalls = new SingleFlight<>();
+    private final SingleFlight<String, List<StockSplitDto>> splitCalls = new SingleFlight<>();
+    
+    public PolygonService(@Qualifier("polygonHttpClient") UpstreamHttpClient httpClient,
+                          MarketDataProperties properties, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        
+        MarketDataProperties.Polygon polygon = properties.getPolygon();
+        this.keyPool = new ApiKeyPool("Polygon", loadApiKeys(polygon),
+                polygon.getRequestsPerMinute(), Duration.ofMinutes(1), polygon.getBackgroundReserve(),
+                polygon.getQuarantine(), polygon.getMaxQuarantine(), polygon.getMaxWait(),
+                System::nanoTime);
+        this.metrics = new UpstreamMetrics("polygon", meterRegistry);
+        
+        registerCoalescedCounter(meterRegistry, dividendCalls, "dividends");
+        registerCoalescedCounter(meterRegistry, splitCalls, "splits");
+        registerKeyGauges(meterRegistry, keyPool);
+    }
+    
+    /**
+     * Loads API keys from app.market-data.polygon.api-keys, falling back to the
+     * POLYGON_API_KEY_ONE/TWO/THREE environment variables.
+     * 
+     * @param polygon Polygon properties
+     * @return non-blank API keys
+     */
+    private static List<String> loadApiKeys(MarketDataProperties.Polygon polygon) {
+        List<String> apiKeys = new ArrayList<>();
+        for (String key : polygon.getApiKeys()) {
+            if (key != null && !key.isBlank()) {
+                apiKeys.add(key.trim());
+            }
+        }
         
-        // Validate that all keys are present
-        for (int i = 0; i < apiKeys.size(); i++) {
-            String key = apiKeys.get(i);
-            if (key == null || key.trim().isEmpty()) {
-                throw new IllegalStateException(
-                    String.format("POLYGON_API_KEY_%s environment variable is required", 
-                        i == 0 ? "ONE" : i == 1 ? "TWO" : "THREE"));
+        if (apiKeys.isEmpty()) {
+            for (String name : List.of("POLYGON_API_KEY_ONE", "POLYGON_API_KEY_TWO", "POLYGON_API_KEY_THREE")) {
+                String key = System.getenv(name);
+                if (key != null && !key.trim().isEmpty()) {
+                    apiKeys.add(key.trim());
+                }
             }
         }
+        
+        if (apiKeys.isEmpty()) {
+            throw new IllegalStateException(
+                    "POLYGON_API_KEYS or POLYGON_API_KEY_ONE environment variable is required");
+        }
+        return apiKeys;
+    }
+    
+    private static void registerCoalescedCounter(MeterRegistry meterRegistry, SingleFlight<?, ?> calls, String endpoint) {
+        FunctionCounter.builder("upstream.requests.coalesced", calls, SingleFlight::getCoalescedCount)
+                .description("Upstream calls that joined an identical in-flight call")
+                .tag("upstream", "polygon")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+    
+    private static void registerKeyGauges(MeterRegistry meterRegistry, ApiKeyPool keyPool) {
+        for (int i = 0; i < keyPool.size(); i++) {
+            int slot = i;
+            Gauge.builder("upstream.api.key.tokens", keyPool, pool -> pool.availableTokens(slot))
+                    .description("Requests the API key can make right now")
+                    .tag("upstream", "polygon")
+                    .tag("slot", String.valueOf(slot))
+                    .register(meterRegistry);
+            Gauge.builder("upstream.api.key.quarantined", keyPool, pool -> pool.isQuarantined(slot) ? 1 : 0)
+                    .description("1 while the API key is benched after a 429")
+                    .tag("upstream", "polygon")
+                    .tag("slot", String.valueOf(slot))
+                    .register(meterRegistry);
+        }
     }
     
     /**
-     * Gets the next API key in a thread-safe round-robin fashion.
-     * 
-     * @return the next API key to use
+     * @return number of API keys requests are spread over
      */
-    private String getNextApiKey() {
-        int index = keyIndex.getAndIncrement() % apiKeys.size();
-        return apiKeys.get(index);
+    public int getApiKeyCount() {
+        return keyPool.size();
     }
     
     /**
      * Builds URI with Polygon API key appended.
      * 
      * @param path API endpoint path
+     * @param apiKey leased API key
      * @param customizer additional query parameters
      * @return complete URI with authentication
      */
-    private URI buildUri(String path, Consumer<UriComponentsBuilder> customizer) {
-        // Build absolute URI since RestTemplate rootUri doesn't combine properly
+    private URI buildUri(String path, String apiKey, Consumer<UriComponentsBuilder> customizer) {
+        // Build absolute URI; the HTTP client has no base URI
         UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString("https://api.polygon.io")
+                .fromUriString("https://" + BASE_HOST)
                 .path(path)
-                .queryParam("apiKey", getNextApiKey());
+                .queryParam("apiKey", apiKey);
         if (customizer != null) {
             customizer.accept(builder);
         }
@@ -80,41 +144,173 @@ public class PolygonService {
     }
     
     /**
-     * Fetches dividend history for a symbol from the last 6 years.
-     * Returns dividends sorted by ex-dividend date (descending).
+     * Runs a request with a key leased from the key pool and reports the outcome back.
+     * On a 429 the key is quarantined and the request is retried on the key with the
+     * most remaining budget, at most once per key in the pool.
+     * 
+     * @param endpoint endpoint tag for metrics
+     * @param request sends the request with the given API key
+     * @param priority lane for leasing keys
+     * @param attemptsLeft attempts including this one
+     * @return future with the request's result
+     */
+    private <T> CompletableFuture<T> withApiKey(String endpoint, Function<String, CompletableFuture<T>> request,
+                                                RequestPriority priority, int attemptsLeft) {
+        return keyPool.acquire(priority).thenCompose(lease -> metrics.time(endpoint, lease.getSlot(),
+                        () -> request.apply(lease.getKey()))
+                .handle((result, error) -> {
+                    Throwable cause = error == null ? null : Futures.unwrap(error);
+                    lease.release(cause);
+                    if (cause == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (cause instanceof RateLimitException && attemptsLeft > 1) {
+                        return withApiKey(endpoint, request, priority, attemptsLeft - 1);
+                    }
+                    return CompletableFuture.<T>failedFuture(cause);
+                })
+                .thenCompose(Function.identity()));
+    }
+    
+    /**
+     * Returns a function that builds the request URI for the next_url cursor of a
+     * previous page, with the leased API key (Polygon leaves it out of next_url).
+     * 
+     * @param nextUrl next_url from the previous page
+     * @return URI builder taking the API key
+     */
+    private Function<String, URI> nextPageUri(String nextUrl) {
+        // Never send an API key to a host other than Polygon's
+        String host = UriComponentsBuilder.fromUriString(nextUrl).build(true).getHost();
+        if (!BASE_HOST.equals(host)) {
+            throw new IllegalStateException("Unexpected Polygon next_url host: " + host);
+        }
+        return apiKey -> UriComponentsBuilder.fromUriString(nextUrl)
+                .replaceQueryParam("apiKey", apiKey)
+                .build(true)
+                .toUri();
+    }
+    
+    /**
+     * Fetches dividend history for a symbol without blocking the caller.
+     * Returns dividends sorted by ex-dividend date (descending), following next_url
+     * until the last page.
+     * Concurrent calls with the same symbol and start date share one upstream request.
      * 
      * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @return future with the list of dividends; fails with RateLimitException if rate
+     *         limit exceeded or SymbolNotSupportedException if symbol not supported
+     */
+    public CompletableFuture<List<DividendDto>> fetchDividendHistoryAsync(String symbol, String fromDate) {
+        return fetchDividendHistoryAsync(symbol, fromDate, RequestPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Fetches dividend history for a symbol without blocking the caller, leasing API keys
+     * through the given lane.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @param priority key pool lane
+     * @return future with the list of dividends; fails with RateLimitException if rate
+     *         limit exceeded or SymbolNotSupportedException if symbol not supported
+     */
+    public CompletableFuture<List<DividendDto>> fetchDividendHistoryAsync(String symbol, String fromDate,
+                                                                        RequestPriority priority) {
+        return dividendCalls.executeAsync("/v3/reference/dividends?ticker=" + symbol + "&from=" + fromDate,
+                () -> Pagination.collectAsync(
+                        () -> requestDividendPage(symbol, priority, apiKey -> dividendsUri(apiKey, symbol, fromDate)),
+                        next -> requestDividendPage(symbol, priority, nextPageUri(next))));
+    }
+    
+    /**
+     * Fetches dividend history for a symbol from a given date.
+     * Returns dividends sorted by ex-dividend date (descending), following next_url
+     * until the last page.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
      * @return list of dividends
      * @throws RateLimitException if rate limit exceeded
      * @throws SymbolNotSupportedException if symbol not supported
      */
     public List<DividendDto> fetchDividendHistory(String symbol, String fromDate) {
-        URI uri = buildUri("/v3/reference/dividends", b -> b
+        return Futures.join(fetchDividendHistoryAsync(symbol, fromDate));
+    }
+    
+    /**
+     * Streams dividend history for a symbol, newest first.
+     * Pages are requested lazily as the stream is consumed, so a caller that stops early
+     * (e.g. with takeWhile once it reaches an old enough date) skips the remaining pages.
+     * The consuming thread waits for each page.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @param priority key pool lane
+     * @return lazy stream of dividends
+     * @throws RateLimitException if rate limit exceeded while reading a page
+     * @throws SymbolNotSupportedException if symbol not supported
+     */
+    public Stream<DividendDto> streamDividendHistory(String symbol, String fromDate, RequestPriority priority) {
+        return Pagination.stream(
+                () -> requestDividendPage(symbol, priority, apiKey -> dividendsUri(apiKey, symbol, fromDate)),
+                next -> requestDividendPage(symbol, priority, nextPageUri(next)));
+    }
+    
+    private URI dividendsUri(String apiKey, String symbol, String fromDate) {
+        return buildUri("/v3/reference/dividends", apiKey, b -> b
                 .queryParam("ticker", symbol)
                 .queryParam("ex_dividend_date.gte", fromDate)
+                .queryParam("order", "desc")
+                .queryParam("sort", "ex_dividend_date")
                 .queryParam("limit", 1000));
-        
-        try {
-            DividendHistoryDto response = restTemplate.getForObject(uri, DividendHistoryDto.class);
-            
-            if (response == null || response.getResults() == null) {
-                return List.of();
-            }
-            
-            return response.getResults();
-        } catch (HttpClientErrorException.TooManyRequests e) {
-            throw new RateLimitException("Polygon API rate limit exceeded", e);
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.BAD_REQUEST || 
-                e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SymbolNotSupportedException(symbol, e);
-            }
-            throw new RuntimeException("Unexpected error calling Polygon API", e);
-        }
+    }
+    
+    private CompletableFuture<Pagination.Page<DividendDto>> requestDividendPage(String symbol, RequestPriority priority,
+                                                                                Function<String, URI> uri) {
+        return metrics.countErrors("dividends", withApiKey("dividends",
+                apiKey -> httpClient.getJson(uri.apply(apiKey), symbol, DividendHistoryDto.class), priority, keyPool.size()))
+                .thenApply(response -> response == null
+                        ? new Pagination.Page<>(null, null)
+                        : new Pagination.Page<>(response.getResults(), response.getNextUrl()));
+    }
+    
+    /**
+     * Fetches stock splits history for a symbol without blocking the caller.
+     * Follows next_url until the last page.
+     * Concurrent calls with the same symbol and start date share one upstream request.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @return future with the list of stock splits; fails with RateLimitException if rate
+     *         limit exceeded or SymbolNotSupportedException if symbol not supported
+     */
+    public CompletableFuture<List<StockSplitDto>> fetchStockSplitsAsync(String symbol, String fromDate) {
+        return fetchStockSplitsAsync(symbol, fromDate, RequestPriority.INTERACTIVE);
+    }
+    
+    /**
+     * Fetches stock splits history for a symbol without blocking the caller, leasing API
+     * keys through the given lane.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @param priority key pool lane
+     * @return future with the list of stock splits; fails with RateLimitException if rate
+     *         limit exceeded or SymbolNotSupportedException if symbol not supported
+     */
+    public CompletableFuture<List<StockSplitDto>> fetchStockSplitsAsync(String symbol, String fromDate,
+                                                                      RequestPriority priority) {
+        return splitCalls.executeAsync("/v3/reference/splits?ticker=" + symbol + "&from=" + fromDate,
+                () -> Pagination.collectAsync(
+                        () -> requestSplitPage(symbol, priority, apiKey -> splitsUri(apiKey, symbol, fromDate)),
+                        next -> requestSplitPage(symbol, priority, nextPageUri(next))));
     }
     
     /**
      * Fetches stock splits history for a symbol from a given date.
+     * Follows next_url until the last page.
      * 
      * @param symbol stock symbol
      * @param fromDate start date (ISO format: YYYY-MM-DD)
@@ -123,30 +319,42 @@ public class PolygonService {
      * @throws SymbolNotSupportedException if symbol not supported
      */
     public List<StockSplitDto> fetchStockSplits(String symbol, String fromDate) {
-        String path = "/v3/reference/splits";
-        
-        URI uri = buildUri(path, b -> b
+        return Futures.join(fetchStockSplitsAsync(symbol, fromDate));
+    }
+    
+    /**
+     * Streams stock splits for a symbol, newest first.
+     * Pages are requested lazily as the stream is consumed, so a caller that stops early
+     * skips the remaining pages. The consuming thread waits for each page.
+     * 
+     * @param symbol stock symbol
+     * @param fromDate start date (ISO format: YYYY-MM-DD)
+     * @param priority key pool lane
+     * @return lazy stream of stock splits
+     * @throws RateLimitException if rate limit exceeded while reading a page
+     * @throws SymbolNotSupportedException if symbol not supported
+     */
+    public Stream<StockSplitDto> streamStockSplits(String symbol, String fromDate, RequestPriority priority) {
+        return Pagination.stream(
+                () -> requestSplitPage(symbol, priority, apiKey -> splitsUri(apiKey, symbol, fromDate)),
+                next -> requestSplitPage(symbol, priority, nextPageUri(next)));
+    }
+    
+    private URI splitsUri(String apiKey, String symbol, String fromDate) {
+        return buildUri("/v3/reference/splits", apiKey, b -> b
                 .queryParam("ticker", symbol)
                 .queryParam("execution_date.gte", fromDate)
+                .queryParam("order", "desc")
+                .queryParam("sort", "execution_date")
                 .queryParam("limit", 100));
-        
-        try {
-            StockSplitsDto response = restTemplate.getForObject(uri, StockSplitsDto.class);
-            
-            if (response == null || response.getResults() == null) {
-                return List.of();
-            }
-            
-            return response.getResults();
-        } catch (HttpClientErrorException.TooManyRequests e) {
-            throw new RateLimitException("Polygon API rate limit exceeded", e);
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.BAD_REQUEST || 
-                e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                throw new SymbolNotSupportedException(symbol, e);
-            }
-            throw new RuntimeException("Unexpected error calling Polygon API", e);
-        }
+    }
+    
+    private CompletableFuture<Pagination.Page<StockSplitDto>> requestSplitPage(String symbol, RequestPriority priority,
+                                                                               Function<String, URI> uri) {
+        return metrics.countErrors("splits", withApiKey("splits",
+                apiKey -> httpClient.getJson(uri.apply(apiKey), symbol, StockSplitsDto.class), priority, keyPool.size()))
+                .thenApply(response -> response == null
+                        ? new Pagination.Page<>(null, null)
+                        : new Pagination.Page<>(response.getResults(), response.getNextUrl()));
     }
 }
-
@@ -0,0 +1,217 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.util.TokenBucket;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side rate limiter with an interactive and a background lane.
+ *
+ * Permits come from a token bucket sized to the upstream's calls-per-minute budget.
+ * Interactive requests are always served before background ones, and background
+ * requests may not dip into a reserve kept for interactive traffic. Requests that cannot
+ * be served immediately wait in their lane without holding a thread; once their lane's
+ * wait deadline passes they fail with RateLimitException.
+ */
+public class PriorityRateLimiter {
+
+    private record Waiter(CompletableFuture<Void> permit, long deadline) {
+    }
+
+    /** Value of armedDeadline while no wakeup is scheduled. */
+    private static final long NOT_ARMED = Long.MIN_VALUE;
+
+    private final String name;
+    private final TokenBucket bucket;
+    private final double backgroundReserve;
+    private final long interactiveMaxWaitNanos;
+    private final long backgroundMaxWaitNanos;
+    private final LongSupplier clock;
+
+    private final Queue<Waiter> interactive = new ConcurrentLinkedQueue<>();
+    private final Queue<Waiter> background = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger interactiveQueued = new AtomicInteger();
+    private final AtomicInteger backgroundQueued = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicLong armedDeadline = new AtomicLong(NOT_ARMED);
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name provider name used in error messages, e.g. "Finnhub"
+     * @param callsPerMinute sustained request budget
+     * @param burst maximum number of requests that may be sent back to back
+     * @param backgroundReserve tokens background requests must leave for interactive ones
+     * @param interactiveMaxWait how long an interactive request may wait for a permit
+     * @param backgroundMaxWait how long a background request may wait for a permit
+     * @param clock nanosecond clock, e.g. System::nanoTime
+     */
+    public PriorityRateLimiter(String name, int callsPerMinute, int burst, double backgroundReserve,
+                               Duration interactiveMaxWait, Duration backgroundMaxWait, LongSupplier clock) {
+        this.name = name;
+        this.bucket = new TokenBucket(burst, Duration.ofMinutes(1).multipliedBy(burst).dividedBy(callsPerMinute), clock);
+        this.backgroundReserve = backgroundReserve;
+        this.interactiveMaxWaitNanos = interactiveMaxWait.toNanos();
+        this.backgroundMaxWaitNanos = backgroundMaxWait.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Requests a permit to send one upstream request.
+     *
+     * @param priority lane to queue in
+     * @return future completed when the request may be sent; fails with RateLimitException
+     *         if no permit is available before the lane's wait deadline
+     */
+    public CompletableFuture<Void> acquire(RequestPriority priority) {
+        boolean isInteractive = priority == RequestPriority.INTERACTIVE;
+
+        // Fast path: nobody ahead of us in line and budget left
+        boolean lineEmpty = isInteractive
+                ? interactiveQueued.get() == 0
+                : interactiveQueued.get() == 0 && backgroundQueued.get() == 0;
+        if (lineEmpty && bucket.tryAcquireAbove(reserve(priority))) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long maxWait = isInteractive ? interactiveMaxWaitNanos : backgroundMaxWaitNanos;
+        Waiter waiter = new Waiter(new CompletableFuture<>(), clock.getAsLong() + maxWait);
+        if (isInteractive) {
+            interactiveQueued.incrementAndGet();
+            interactive.add(waiter);
+        } else {
+            backgroundQueued.incrementAndGet();
+            background.add(waiter);
+        }
+        drain();
+        return waiter.permit();
+    }
+
+    /**
+     * Empties the bucket after the upstream answered 429, so queued requests back off
+     * until the budget has refilled.
+     */
+    public void onRateLimited() {
+        bucket.drain();
+    }
+
+    /**
+     * @param priority lane
+     * @return requests waiting in that lane
+     */
+    public int getQueued(RequestPriority priority) {
+        return priority == RequestPriority.INTERACTIVE ? interactiveQueued.get() : backgroundQueued.get();
+    }
+
+    /**
+     * @return requests that failed because their wait deadline passed
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private double reserve(RequestPriority priority) {
+        return priority == RequestPriority.INTERACTIVE ? 0 : backgroundReserve;
+    }
+
+    /**
+     * Hands out permits to queued requests. Only one thread drains at a time (it is the
+     * only one removing from the lanes); calls made
+     * while a drain is running make that thread loop once more instead of waiting.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainOnce();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainOnce() {
+        while (true) {
+            long now = clock.getAsLong();
+            expire(interactive, interactiveQueued, now);
+            expire(background, backgroundQueued, now);
+
+            RequestPriority priority = RequestPriority.INTERACTIVE;
+            Waiter next = interactive.peek();
+            if (next == null) {
+                priority = RequestPriority.BACKGROUND;
+                next = background.peek();
+            }
+            if (next == null) {
+                return;
+            }
+
+            double reserve = reserve(priority);
+            if (bucket.tryAcquireAbove(reserve)) {
+                dequeue(priority);
+                next.permit().complete(null);
+                continue;
+            }
+
+            // Not enough budget yet: check again once a token has refilled or the head expires
+            long wait = Math.min(bucket.nanosUntilAvailable(1 + reserve), Math.max(0, next.deadline() - now));
+            armTimer(now + Math.max(wait, TimeUnit.MILLISECONDS.toNanos(1)));
+            return;
+        }
+    }
+
+    private void expire(Queue<Waiter> lane, AtomicInteger queued, long now) {
+        // Each lane has a single max-wait, so deadlines are in queue order
+        Waiter head;
+        while ((head = lane.peek()) != null && head.deadline() - now <= 0) {
+            lane.poll();
+            queued.decrementAndGet();
+            rejected.increment();
+            head.permit().completeExceptionally(
+                    new RateLimitException(name + " API request budget exhausted, please try again shortly"));
+        }
+    }
+
+    private void dequeue(RequestPriority priority) {
+        if (priority == RequestPriority.INTERACTIVE) {
+            interactive.poll();
+            interactiveQueued.decrementAndGet();
+        } else {
+            background.poll();
+            backgroundQueued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Schedules a drain at the given time unless one is already due no later. A head that
+     * needs less budget than the one the pending wakeup was armed for (an interactive request
+     * queued behind a background one waiting on its reserve) moves the wakeup forward; the
+     * later timer still fires, but only triggers a drain with nothing to do.
+     *
+     * @param deadline clock time to drain at
+     */
+    private void armTimer(long deadline) {
+        while (true) {
+            long armed = armedDeadline.get();
+            if (armed != NOT_ARMED && armed - deadline <= 0) {
+                return;
+            }
+            if (armedDeadline.compareAndSet(armed, deadline)) {
+                long delay = Math.max(0, deadline - clock.getAsLong());
+                CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                    armedDeadline.compareAndSet(deadline, NOT_ARMED);
+                    drain();
+                });
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.dto.QuoteUpdateView;
+import com.example.backend.dto.QuoteView;
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.StreamLimitException;
+import com.example.backend.util.SymbolUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live quote streams over Server-Sent Events.
+ *
+ * Every subscribed symbol has exactly one poller on this node, a virtual thread that reads
+ * the quote through {@link MarketDataService#getQuoteVersioned} every stream.poll-interval,
+ * so Finnhub is called at most once per quote cache TTL no matter how many clients watch
+ * the symbol. When the quote's version changes it is fanned out to all subscribers. The
+ * poller starts with the first subscriber and is stopped when the last one leaves.
+ *
+ * Pollers fetch through Finnhub's background lane, so they never take budget from
+ * interactive requests. A client may hold stream.max-streams-per-client streams, and the
+ * node polls at most stream.max-pollers symbols; streams beyond either limit are refused.
+ * A stream counts once towards a symbol's {@link SymbolPopularity} when it is handed the
+ * symbol's first successful quote, so unknown symbols never reach the prewarm top-K.
+ *
+ * Updates are conflated per subscriber: each stream holds at most one pending update per
+ * symbol, and a newer quote replaces one that has not been written yet. Writes run on
+ * virtual threads, one drain at a time per stream, so a slow client only delays itself
+ * and never holds more than one update per symbol in memory.
+ */
+@Slf4j
+@Component
+public class QuoteStreamRegistry {
+
+    /** Conflation key for heartbeats; symbols are never blank. */
+    private static final String HEARTBEAT = "";
+
+    private final MarketDataService marketDataService;
+    private final SymbolPopularity symbolPopularity;
+    private final MarketDataProperties.Stream settings;
+    private final Counter conflated;
+
+    private final Map<String, Poller> pollers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicInteger> streamsPerClient = new ConcurrentHashMap<>();
+    /**
+     * Guards poller starts and stops, so the poller count cannot overshoot max-pollers. A
+     * ReentrantLock rather than a monitor, so a virtual request thread waiting here does
+     * not pin its carrier.
+     */
+    private final Lock pollerLock = new ReentrantLock();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public QuoteStreamRegistry(MarketDataService marketDataService, SymbolPopularity symbolPopularity,
+                               MarketDataProperties properties, MeterRegistry meterRegistry) {
+        this.marketDataService = marketDataService;
+        this.symbolPopularity = symbolPopularity;
+        this.settings = properties.getStream();
+        this.conflated = Counter.builder("market.stream.conflated")
+                .description("Stream updates replaced by a newer one before they were written")
+                .register(meterRegistry);
+
+        Gauge.builder("market.stream.pollers", pollers, Map::size)
+                .description("Symbols with an active quote poller")
+                .register(meterRegistry);
+        Gauge.builder("market.stream.subscribers", subscribers, Set::size)
+                .description("Open quote streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a quote stream for the given symbols. Each symbol's latest quote, if already
+     * known, is sent right away; after that an update is sent whenever the quote changes.
+     *
+     * @param symbols stock symbols; blanks, duplicates and casing variants are collapsed
+     * @param clientKey identifies the client for the per-client stream limit
+     * @return emitter for the stream
+     * @throws IllegalArgumentException if no symbols or more than stream.max-symbols are given
+     * @throws StreamLimitException if the client or this node has no room for another stream
+     */
+    public SseEmitter subscribe(Collection<String> symbols, String clientKey) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                keys.add(SymbolUtils.normalize(symbol));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one symbol is required");
+        }
+        if (keys.size() > settings.getMaxSymbols()) {
+            throw new IllegalArgumentException("At most " + settings.getMaxSymbols() + " symbols are allowed per stream");
+        }
+
+        SseEmitter emitter = new SseEmitter(settings.getTimeout().toMillis());
+        Subscriber subscriber = register(keys, clientKey, update -> emitter.send(update.toEvent()));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            subscriber.close();
+            // Completing here ends the response normally instead of raising AsyncRequestTimeoutException
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+    /**
+     * Adds a subscriber to the poller of each symbol, starting pollers that are not running.
+     *
+     * @param keys normalized symbols
+     * @param clientKey identifies the client for the per-client stream limit
+     * @param sink writes updates to the client
+     * @return the subscriber, to be closed when the client goes away
+     * @throws StreamLimitException if the client or this node has no room for another stream
+     */
+    Subscriber register(Set<String> keys, String clientKey, Sink sink) {
+        AtomicInteger open = streamsPerClient.computeIfAbsent(clientKey, k -> new AtomicInteger());
+        if (open.incrementAndGet() > settings.getMaxStreamsPerClient()) {
+            releaseClient(clientKey);
+            throw new StreamLimitException("At most " + settings.getMaxStreamsPerClient()
+                    + " quote streams may be open per client", true);
+        }
+
+        Subscriber subscriber = new Subscriber(keys, clientKey, sink);
+        pollerLock.lock();
+        try {
+            long starting = keys.stream().filter(key -> !pollers.containsKey(key)).count();
+            if (pollers.size() + starting > settings.getMaxPollers()) {
+                releaseClient(clientKey);
+                throw new StreamLimitException("Live quotes are at capacity, please try again later", false);
+            }
+            subscribers.add(subscriber);
+            for (String key : keys) {
+                pollers.computeIfAbsent(key, k -> Poller.start(this, k)).subscribers.add(subscriber);
+            }
+        } finally {
+            pollerLock.unlock();
+        }
+        for (String key : keys) {
+            Poller poller = pollers.get(key);
+            Update latest = poller != null ? poller.latest : null;
+            if (latest != null) {
+                subscriber.offer(key, latest);
+            }
+        }
+        log.debug("Quote stream opened for {}; {} pollers active", keys, pollers.size());
+        return subscriber;
+    }
+
+    private void releaseClient(String clientKey) {
+        streamsPerClient.computeIfPresent(clientKey, (k, open) -> open.decrementAndGet() <= 0 ? null : open);
+    }
+
+    /**
+     * Removes a subscriber from the pollers of its symbols and stops pollers left without
+     * subscribers.
+     */
+    private void unregister(Subscriber subscriber) {
+        pollerLock.lock();
+        try {
+            subscribers.remove(subscriber);
+            for (String key : subscriber.keys) {
+                pollers.computeIfPresent(key, (k, poller) -> {
+                    poller.subscribers.remove(subscriber);
+                    if (poller.subscribers.isEmpty()) {
+                        poller.thread.interrupt();
+                        return null;
+                    }
+                    return poller;
+                });
+            }
+        } finally {
+            pollerLock.unlock();
+        }
+        releaseClient(subscriber.clientKey);
+        log.debug("Quote stream for {} closed; {} pollers active", subscriber.keys, pollers.size());
+    }
+
+    /**
+     * @param key normalized symbol
+     * @return true if the symbol currently has a poller
+     */
+    boolean isPolling(String key) {
+        return pollers.containsKey(key);
+    }
+
+    /**
+     * Sends a comment on every open stream so idle connections stay open through proxies,
+     * and streams whose client has gone away fail to write and are closed.
+     */
+    @Scheduled(fixedDelayString = "${app.market-data.stream.heartbeat:30s}",
+            initialDelayString = "${app.market-data.stream.heartbeat:30s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT, Update.HEARTBEAT_UPDATE);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pollers.values().forEach(poller -> poller.thread.interrupt());
+        pollers.clear();
+        sender.shutdownNow();
+    }
+
+    /**
+     * Writes one update to a client.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void send(Update update) throws IOException;
+    }
+
+    /**
+     * An update for one symbol, or a heartbeat when data is null.
+     */
+    record Update(String symbol, QuoteUpdateView data) {
+
+        static final Update HEARTBEAT_UPDATE = new Update(HEARTBEAT, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (data == null) {
+                return SseEmitter.event().comment("keepalive");
+            }
+            return SseEmitter.event().name("quote").data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * The single poller of one symbol and the streams it feeds.
+     */
+    private static final class Poller implements Runnable {
+
+        private final QuoteStreamRegistry registry;
+        private final String key;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Thread thread;
+
+        /** Last update sent, handed to new subscribers. */
+        private volatile Update latest;
+
+        /** Version of the last update; only touched by the poller thread. */
+        private String version;
+
+        private Poller(QuoteStreamRegistry registry, String key) {
+            this.registry = registry;
+            this.key = key;
+            this.thread = Thread.ofVirtual().name("quote-stream-" + key).unstarted(this);
+        }
+
+        static Poller start(QuoteStreamRegistry registry, String key) {
+            Poller poller = new Poller(registry, key);
+            poller.thread.start();
+            return poller;
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean fetched = poll();
+                try {
+                    Thread.sleep(fetched ? registry.settings.getPollInterval() : registry.settings.getErrorBackoff());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads the quote and publishes it if it changed since the last poll.
+         *
+         * @return false if the quote could not be fetched
+         */
+        private boolean poll() {
+            String next;
+            QuoteUpdateView data;
+            try {
+                Versioned<QuoteView> quote = registry.marketDataService.getQuoteVersioned(key, RequestPriority.BACKGROUND);
+                next = quote.version();
+                data = QuoteUpdateView.builder().symbol(key).quote(quote.value()).build();
+            } catch (RateLimitException e) {
+                // No background budget right now; subscribers keep the last quote until the next try
+                log.debug("Polling quote for {} deferred: {}", key, e.getMessage());
+                return false;
+            } catch (RuntimeException e) {
+                log.debug("Polling quote for {} failed: {}", key, e.getMessage());
+                next = "error:" + e.getClass().getSimpleName();
+                data = QuoteUpdateView.builder().symbol(key).error(MarketDataService.toSymbolError(key, e)).build();
+            }
+
+            if (!next.equals(version)) {
+                version = next;
+                Update update = new Update(key, data);
+                latest = update;
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(key, update);
+                }
+            }
+            return data.getError() == null;
+        }
+    }
+
+    /**
+     * One open stream with at most one pending update per symbol.
+     */
+    final class Subscriber {
+
+        private final Set<String> keys;
+        private final String clientKey;
+        private final Sink sink;
+        private final Map<String, Update> pending = new ConcurrentHashMap<>();
+        /** Symbols this stream has already counted towards popularity. */
+        private final Set<String> recorded = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Set<String> keys, String clientKey, Sink sink) {
+            this.keys = keys;
+            this.clientKey = clientKey;
+            this.sink = sink;
+        }
+
+        /**
+         * Queues an update, replacing a pending one for the same symbol, and starts a
+         * drain unless one is already running.
+         */
+        void offer(String key, Update update) {
+            if (closed.get()) {
+                return;
+            }
+            if (update.data() != null && update.data().getError() == null && recorded.add(key)) {
+                symbolPopularity.record(key);
+            }
+            if (pending.put(key, update) != null) {
+                conflated.increment();
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        /**
+         * Writes pending updates until none are left. An update offered after the last
+         * check re-claims the drain, so nothing is left behind.
+         */
+        private void drain() {
+            do {
+                for (String key : pending.keySet()) {
+                    Update update = pending.remove(key);
+                    if (update != null && !write(update)) {
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private boolean write(Update update) {
+            try {
+                sink.send(update);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                log.debug("Writing to quote stream for {} failed: {}", keys, e.getMessage());
+                close();
+                return false;
+            }
+        }
+
+        /**
+         * Leaves all pollers; safe to call more than once.
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                pending.clear();
+                unregister(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.backend.service;
+
+/**
+ * Priority of an upstream request when the request budget is tight.
+ */
+public enum RequestPriority {
+
+    /** A user is waiting for the response. */
+    INTERACTIVE,
+
+    /** Prefetch or cache refresh work that can wait or be dropped. */
+    BACKGROUND
+}
@@ -1,9 +1,13 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.BulkImportResultDto;
 import com.example.backend.dto.SavedChowderAnalysisRequestDto;
 import com.example.backend.dto.SavedChowderAnalysisResponseDto;
+import com.example.backend.exception.BulkImportException;
 import com.example.backend.model.ChowderAnalysis;
 import com.example.backend.repository.ChowderAnalysisRepository;
+import com.example.backend.util.KeysetCursor;
+import com.example.backend.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,13 +15,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SavedChowderAnalysisService {
 
     private final ChowderAnalysisRepository repository;
+    private final BulkImporter bulkImporter;
 
     /**
      * Saves a new Chowder analysis for the authenticated user.
@@ -25,30 +29,42 @@ public class SavedChowderAnalysisService {
     @Transactional
     public SavedChowderAnalysisResponseDto saveAnalysis(SavedChowderAnalysisRequestDto requestDto) {
         String userId = getCurrentUserId();
-        
-        ChowderAnalysis analysis = new ChowderAnalysis();
-        analysis.setUserId(userId);
-        analysis.setSymbol(requestDto.getSymbol());
-        analysis.setChowderScore(requestDto.getChowderScore());
-        analysis.setDividendYield(requestDto.getDividendYield());
-        analysis.setDividendCAGR(requestDto.getDividendCAGR());
-        analysis.setYearsOfData(requestDto.getYearsOfData());
-        analysis.setCurrentPrice(requestDto.getCurrentPrice());
-        analysis.setMessage(requestDto.getMessage());
-        
-        ChowderAnalysis saved = repository.save(analysis);
+        ChowderAnalysis saved = repository.save(toEntity(userId, requestDto));
         return toResponseDto(saved);
     }
 
     /**
-     * Retrieves all Chowder analyses for the authenticated user.
+     * Saves many Chowder analyses for the authenticated user, in chunks of one transaction each.
+     * 
+     * @param rows analyses to save
+     * @return how many rows were saved, and why the others were not
+     * @throws BulkImportException if there are no rows or more than bulk-import.max-rows
+     */
+    public BulkImportResultDto importAnalyses(List<SavedChowderAnalysisRequestDto> rows) {
+        String userId = getCurrentUserId();
+        return bulkImporter.importRows(rows, row -> toEntity(userId, row), repository::saveAllAndFlush);
+    }
+
+    /**
+     * Retrieves one page of Chowder analyses for the authenticated user, newest first.
+     * 
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit requested page size, clamped to 1..{@link KeysetCursor#MAX_PAGE_SIZE}
+     * @return analyses on the page and the cursor for the next one (null on the last page)
+     * @throws IllegalArgumentException if the cursor is invalid
      */
-    public List<SavedChowderAnalysisResponseDto> getAllByUserId() {
+    @Transactional(readOnly = true)
+    public Pagination.Page<SavedChowderAnalysisResponseDto> getPageByUserId(String cursor, int limit) {
         String userId = getCurrentUserId();
-        return repository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toResponseDto)
-                .collect(Collectors.toList());
+        KeysetCursor.Key after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(limit);
+        
+        // Rows are projected straight into DTOs, so no entities are loaded into the
+        // persistence context or snapshotted for dirty checking
+        List<SavedChowderAnalysisResponseDto> rows = after == null
+                ? repository.findPageByUserId(userId, KeysetCursor.fetchLimit(pageSize))
+                : repository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), KeysetCursor.fetchLimit(pageSize));
+        return KeysetCursor.page(rows, pageSize, dto -> KeysetCursor.encode(dto.getCreatedAt(), dto.getId()));
     }
 
     /**
@@ -101,6 +117,19 @@ public class SavedChowderAnalysisService {
         return principal.toString();
     }
 
+    private ChowderAnalysis toEntity(String userId, SavedChowderAnalysisRequestDto requestDto) {
+        ChowderAnalysis analysis = new ChowderAnalysis();
+        analysis.setUserId(userId);
+        analysis.setSymbol(requestDto.getSymbol());
+        analysis.setChowderScore(requestDto.getChowderScore());
+        analysis.setDividendYield(requestDto.getDividendYield());
+        analysis.setDividendCAGR(requestDto.getDividendCAGR());
+        analysis.setYearsOfData(requestDto.getYearsOfData());
+        analysis.setCurrentPrice(requestDto.getCurrentPrice());
+        analysis.setMessage(requestDto.getMessage());
+        return analysis;
+    }
+
     private SavedChowderAnalysisResponseDto toResponseDto(ChowderAnalysis analysis) {
         return SavedChowderAnalysisResponseDto.builder()
                 .id(analysis.getId())
@@ -1,9 +1,13 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.BulkImportResultDto;
 import com.example.backend.dto.SavedDdmAnalysisRequestDto;
 import com.example.backend.dto.SavedDdmAnalysisResponseDto;
+import com.example.backend.exception.BulkImportException;
 import com.example.backend.model.DdmAnalysis;
 import com.example.backend.repository.DdmAnalysisRepository;
+import com.example.backend.util.KeysetCursor;
+import com.example.backend.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,13 +15,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SavedDdmAnalysisService {
 
     private final DdmAnalysisRepository repository;
+    private final BulkImporter bulkImporter;
 
     /**
      * Saves a new DDM analysis for the authenticated user.
@@ -25,31 +29,42 @@ public class SavedDdmAnalysisService {
     @Transactional
     public SavedDdmAnalysisResponseDto saveAnalysis(SavedDdmAnalysisRequestDto requestDto) {
         String userId = getCurrentUserId();
-        
-        DdmAnalysis analysis = new DdmAnalysis();
-        analysis.setUserId(userId);
-        analysis.setSymbol(requestDto.getSymbol());
-        analysis.setExpectedDividend(requestDto.getExpectedDividend());
-        analysis.setGrowthRate(requestDto.getGrowthRate());
-        analysis.setDiscountRate(requestDto.getDiscountRate());
-        analysis.setTotalDividend(requestDto.getTotalDividend());
-        analysis.setCurrentPrice(requestDto.getCurrentPrice());
-        analysis.setIntrinsicValue(requestDto.getIntrinsicValue());
-        analysis.setIsUndervalued(requestDto.getIsUndervalued());
-        
-        DdmAnalysis saved = repository.save(analysis);
+        DdmAnalysis saved = repository.save(toEntity(userId, requestDto));
         return toResponseDto(saved);
     }
 
     /**
-     * Retrieves all DDM analyses for the authenticated user.
+     * Saves many DDM analyses for the authenticated user, in chunks of one transaction each.
+     * 
+     * @param rows analyses to save
+     * @return how many rows were saved, and why the others were not
+     * @throws BulkImportException if there are no rows or more than bulk-import.max-rows
+     */
+    public BulkImportResultDto importAnalyses(List<SavedDdmAnalysisRequestDto> rows) {
+        String userId = getCurrentUserId();
+        return bulkImporter.importRows(rows, row -> toEntity(userId, row), repository::saveAllAndFlush);
+    }
+
+    /**
+     * Retrieves one page of DDM analyses for the authenticated user, newest first.
+     * 
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param limit requested page size, clamped to 1..{@link KeysetCursor#MAX_PAGE_SIZE}
+     * @return analyses on the page and the cursor for the next one (null on the last page)
+     * @throws IllegalArgumentException if the cursor is invalid
      */
-    public List<SavedDdmAnalysisResponseDto> getAllByUserId() {
+    @Transactional(readOnly = true)
+    public Pagination.Page<SavedDdmAnalysisResponseDto> getPageByUserId(String cursor, int limit) {
         String userId = getCurrentUserId();
-        return repository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toResponseDto)
-                .collect(Collectors.toList());
+        KeysetCursor.Key after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(limit);
+        
+        // Rows are projected straight into DTOs, so no entities are loaded into the
+        // persistence context or snapshotted for dirty checking
+        List<SavedDdmAnalysisResponseDto> rows = after == null
+                ? repository.findPageByUserId(userId, KeysetCursor.fetchLimit(pageSize))
+                : repository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), KeysetCursor.fetchLimit(pageSize));
+        return KeysetCursor.page(rows, pageSize, dto -> KeysetCursor.encode(dto.getCreatedAt(), dto.getId()));
     }
 
     /**
@@ -103,6 +118,20 @@ public class SavedDdmAnalysisService {
         return principal.toString();
     }
 
+    private DdmAnalysis toEntity(String userId, SavedDdmAnalysisRequestDto requestDto) {
+        DdmAnalysis analysis = new DdmAnalysis();
+        analysis.setUserId(userId);
+        analysis.setSymbol(requestDto.getSymbol());
+        analysis.setExpectedDividend(requestDto.getExpectedDividend());
+        analysis.setGrowthRate(requestDto.getGrowthRate());
+        analysis.setDiscountRate(requestDto.getDiscountRate());
+        analysis.setTotalDividend(requestDto.getTotalDividend());
+        analysis.setCurrentPrice(requestDto.getCurrentPrice());
+        analysis.setIntrinsicValue(requestDto.getIntrinsicValue());
+        analysis.setIsUndervalued(requestDto.getIsUndervalued());
+        return analysis;
+    }
+
     private SavedDdmAnalysisResponseDto toResponseDto(DdmAnalysis analysis) {
         return SavedDdmAnalysisResponseDto.builder()
                 .id(analysis.getId())
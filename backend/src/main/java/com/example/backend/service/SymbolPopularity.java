@@ -0,0 +1,61 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.util.HeavyHitters;
+import com.example.backend.util.SymbolUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tracks which symbols are requested most, in fixed memory.
+ *
+ * Market data requests are counted in a {@link HeavyHitters} sketch whose counts are
+ * decayed on a schedule, so the reported top symbols follow recent traffic. Used by
+ * {@link CachePrewarmer} to decide what to keep warm.
+ */
+@Component
+public class SymbolPopularity {
+
+    private final HeavyHitters sketch;
+    private final MarketDataProperties.Prewarm settings;
+
+    public SymbolPopularity(MarketDataProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getPrewarm();
+        this.sketch = new HeavyHitters(settings.getTopK(), settings.getSketchWidth());
+
+        Gauge.builder("market.popular.symbols", sketch, s -> s.top().size())
+                .description("Symbols currently tracked as most requested")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts one request for a symbol.
+     *
+     * @param symbol raw symbol from the request
+     */
+    public void record(String symbol) {
+        if (symbol != null && !symbol.isBlank()) {
+            sketch.add(SymbolUtils.normalize(symbol));
+        }
+    }
+
+    /**
+     * @return the most requested symbols, most popular first
+     */
+    public List<String> top() {
+        return sketch.top();
+    }
+
+    /**
+     * Scales all request counts down so older traffic weighs less.
+     */
+    @Scheduled(fixedDelayString = "${app.market-data.prewarm.decay-interval:10m}",
+            initialDelayString = "${app.market-data.prewarm.decay-interval:10m}")
+    public void decay() {
+        sketch.decay(settings.getDecayFactor());
+    }
+}
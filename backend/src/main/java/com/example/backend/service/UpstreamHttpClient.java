@@ -0,0 +1,207 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamUnavailableException;
+import com.example.backend.util.Futures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.io.CloseMode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking HTTP client for one upstream market data provider.
+ *
+ * Requests run on the client's I/O reactor rather than on the calling thread, so many
+ * upstream calls can be in flight without a thread each. Error statuses are mapped to
+ * the same exceptions the services used to raise: 429 to RateLimitException, 400/404
+ * to SymbolNotSupportedException and anything else non-2xx to RuntimeException.
+ *
+ * Every call goes through the provider's bulkhead and circuit breaker. When too many
+ * calls are in flight, or the breaker is open after repeated failures or slow responses,
+ * the call fails immediately with UpstreamUnavailableException instead of waiting on a
+ * degraded provider.
+ */
+public class UpstreamHttpClient implements AutoCloseable {
+
+    /**
+     * Converts a response body into a result.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(byte[] body) throws IOException;
+    }
+
+    private final String name;
+    private final CloseableHttpAsyncClient client;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    /**
+     * Creates a client with default circuit breaker and bulkhead settings.
+     *
+     * @param name provider name used in error messages, e.g. "Finnhub"
+     * @param client async client; started here and closed with this instance
+     * @param objectMapper mapper for JSON responses
+     */
+    public UpstreamHttpClient(String name, CloseableHttpAsyncClient client, ObjectMapper objectMapper) {
+        this(name, client, objectMapper,
+                CircuitBreaker.of(name, circuitBreakerConfig().build()), Bulkhead.ofDefaults(name));
+    }
+
+    /**
+     * Circuit breaker settings shared by all upstreams. Unknown symbols, quota responses
+     * and cancelled calls say nothing about the provider's health, so they are not
+     * counted as failures.
+     *
+     * @return builder to add thresholds to
+     */
+    public static CircuitBreakerConfig.Builder circuitBreakerConfig() {
+        return CircuitBreakerConfig.custom()
+                .ignoreExceptions(SymbolNotSupportedException.class, RateLimitException.class,
+                        CancellationException.class);
+    }
+
+    /**
+     * @param name provider name used in error messages, e.g. "Finnhub"
+     * @param client async client; started here and closed with this instance
+     * @param objectMapper mapper for JSON responses
+     * @param circuitBreaker breaker guarding this provider
+     * @param bulkhead concurrency limit for this provider
+     */
+    public UpstreamHttpClient(String name, CloseableHttpAsyncClient client, ObjectMapper objectMapper,
+                              CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.name = name;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        client.start();
+    }
+
+    /**
+     * Sends a GET request and maps the JSON response body to a type.
+     *
+     * @param uri absolute request URI
+     * @param symbol symbol the request is for, used in error messages
+     * @param type response type
+     * @param <T> response type
+     * @return future with the mapped body, or null if the body is empty
+     */
+    public <T> CompletableFuture<T> getJson(URI uri, String symbol, Class<T> type) {
+        return get(uri, symbol, body -> body.length == 0 ? null : objectMapper.readValue(body, type));
+    }
+
+    /**
+     * Sends a GET request and converts the response body with the given reader.
+     * The reader runs on the I/O reactor thread, so it must not block.
+     *
+     * @param uri absolute request URI
+     * @param symbol symbol the request is for, used in error messages
+     * @param reader converts the body
+     * @param <T> result type
+     * @return future with the converted body; cancelling it aborts the request
+     */
+    public <T> CompletableFuture<T> get(URI uri, String symbol, BodyReader<T> reader) {
+        if (!bulkhead.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(
+                    new UpstreamUnavailableException(name + " API is at its concurrency limit"));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            return CompletableFuture.failedFuture(
+                    new UpstreamUnavailableException(name + " API is temporarily unavailable"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> result = execute(uri, symbol, reader);
+        result.whenComplete((body, error) -> {
+            bulkhead.onComplete();
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                // Ignored exception types (bad symbol, 429, cancellation) only release the permission
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, Futures.unwrap(error));
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> execute(URI uri, String symbol, BodyReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        SimpleHttpRequest request = SimpleRequestBuilder.get(uri).build();
+
+        Future<SimpleHttpResponse> exchange = client.execute(
+                SimpleRequestProducer.create(request),
+                SimpleResponseConsumer.create(),
+                new FutureCallback<>() {
+                    @Override
+                    public void completed(SimpleHttpResponse response) {
+                        int status = response.getCode();
+                        if (status < 200 || status >= 300) {
+                            result.completeExceptionally(toException(status, symbol));
+                            return;
+                        }
+                        byte[] body = response.getBodyBytes();
+                        try {
+                            result.complete(reader.read(body != null ? body : new byte[0]));
+                        } catch (IOException | RuntimeException e) {
+                            result.completeExceptionally(
+                                    new RuntimeException("Invalid response from " + name + " API", e));
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        result.completeExceptionally(
+                                new RuntimeException("Unexpected error calling " + name + " API", e));
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        result.cancel(false);
+                    }
+                });
+
+        result.whenComplete((body, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private RuntimeException toException(int status, String symbol) {
+        if (status == 429) {
+            return new RateLimitException(name + " API rate limit exceeded");
+        }
+        if (status == 400 || status == 404) {
+            return new SymbolNotSupportedException(symbol);
+        }
+        return new RuntimeException("Unexpected error calling " + name + " API: HTTP " + status);
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamUnavailableException;
+import com.example.backend.util.Futures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Request timings and error counts for one upstream provider.
+ *
+ * upstream.requests times each HTTP request once it has its rate limit permit and API
+ * key, tagged by endpoint, outcome and key slot; histogram buckets for it are enabled in
+ * application.yml. upstream.errors counts calls that failed with RateLimitException or
+ * SymbolNotSupportedException, including local rate limiting that never reached the
+ * provider.
+ */
+public class UpstreamMetrics {
+
+    private final String upstream;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param upstream provider tag, e.g. "finnhub"
+     * @param meterRegistry registry to publish to
+     */
+    public UpstreamMetrics(String upstream, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times one upstream request until its future completes.
+     *
+     * @param endpoint endpoint tag, e.g. "quote"
+     * @param slot index of the API key the request is sent with
+     * @param request sends the request
+     * @return the request's future
+     */
+    public <T> CompletableFuture<T> time(String endpoint, int slot, Supplier<CompletableFuture<T>> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> result = request.get();
+        result.whenComplete((body, error) -> sample.stop(Timer.builder("upstream.requests")
+                .description("Upstream HTTP requests")
+                .tag("upstream", upstream)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome(error))
+                .tag("slot", String.valueOf(slot))
+                .register(meterRegistry)));
+        return result;
+    }
+
+    /**
+     * Counts the call if it fails with RateLimitException or SymbolNotSupportedException.
+     *
+     * @param endpoint endpoint tag, e.g. "quote"
+     * @param call the call's future
+     * @return the same future
+     */
+    public <T> CompletableFuture<T> countErrors(String endpoint, CompletableFuture<T> call) {
+        call.whenComplete((body, error) -> {
+            Throwable cause = error == null ? null : Futures.unwrap(error);
+            if (cause instanceof RateLimitException || cause instanceof SymbolNotSupportedException) {
+                Counter.builder("upstream.errors")
+                        .description("Upstream calls that failed with a rate limit or unsupported symbol")
+                        .tag("upstream", upstream)
+                        .tag("endpoint", endpoint)
+                        .tag("exception", cause.getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        });
+        return call;
+    }
+
+    static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = Futures.unwrap(error);
+        if (cause instanceof RateLimitException) {
+            return "rate_limited";
+        }
+        if (cause instanceof SymbolNotSupportedException) {
+            return "symbol_not_supported";
+        }
+        if (cause instanceof UpstreamUnavailableException) {
+            return "rejected";
+        }
+        if (cause instanceof CancellationException) {
+            return "cancelled";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+
+/**
+ * A market data view with the version and lifetime HTTP caches should use for it.
+ *
+ * @param value the view
+ * @param version opaque version; changes whenever the view does
+ * @param maxAge how much longer the server keeps serving this version from its cache
+ * @param <T> view type
+ */
+public record Versioned<T>(T value, String version, Duration maxAge) {
+
+    /**
+     * @param maxAge remaining lifetime
+     * @return the same value and version with another lifetime
+     */
+    public Versioned<T> withMaxAge(Duration maxAge) {
+        return new Versioned<>(value, version, maxAge);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.util;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Correlation ID carried in the logging MDC, so every log line of a request can be found
+ * together.
+ */
+public final class CorrelationId {
+
+    /**
+     * Request and response header carrying the ID.
+     */
+    public static final String HEADER = "X-Request-Id";
+
+    /**
+     * MDC key, included in every log line.
+     */
+    public static final String MDC_KEY = "correlationId";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private CorrelationId() {
+    }
+
+    /**
+     * Accepts an incoming ID if it is short and safe to log, otherwise creates a new one.
+     *
+     * @param incoming ID sent by the client, may be null
+     * @return ID to use for the request
+     */
+    public static String resolve(String incoming) {
+        if (incoming != null && VALID.matcher(incoming).matches()) {
+            return incoming;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's MDC (and so its correlation ID) on
+     * whichever thread executes it.
+     *
+     * @param task task to wrap
+     * @return task that restores the executing thread's MDC afterwards
+     */
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.util;
+
+import com.example.backend.exception.UpstreamTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers for joining concurrent upstream calls.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for all futures under one combined deadline.
+     * Returns as soon as the first future fails instead of waiting for the rest, and
+     * rethrows that failure unchanged so callers see RateLimitException etc. directly.
+     * The futures are not cancelled on failure or timeout: they are expected to be
+     * non-blocking upstream calls, possibly shared with other callers, that hold no thread
+     * while they wait and still fill caches when they complete.
+     *
+     * @param timeout combined deadline for all futures
+     * @param futures futures to wait for
+     * @throws UpstreamTimeoutException if not all futures completed in time
+     */
+    public static void awaitAll(Duration timeout, CompletableFuture<?>... futures) {
+        CompletableFuture<Void> all = new CompletableFuture<>();
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    all.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).thenRun(() -> all.complete(null));
+
+        try {
+            all.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (unwrap(e) instanceof TimeoutException) {
+                throw new UpstreamTimeoutException("Upstream calls did not complete within " + timeout, e.getCause());
+            }
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Waits for a future and returns its result, rethrowing a RuntimeException it failed
+     * with unchanged. Used by synchronous wrappers around asynchronous upstream calls.
+     *
+     * @param future future to wait for
+     * @param <T> result type
+     * @return the result
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Strips the CompletionException/ExecutionException wrapper a dependent stage adds.
+     *
+     * @param error failure seen by a dependent stage
+     * @return the original failure
+     */
+    public static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        cause = unwrap(cause);
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Upstream call failed", cause);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate top-K of a stream of keys in fixed memory.
+ *
+ * Counts are kept in a count-min sketch: each key increments one counter per row and its
+ * count is estimated as the smallest of those counters, which can only over-estimate.
+ * Keys that may be among the heaviest are tracked as candidates; whenever the candidate
+ * set grows past a few times K it is cut back to the K highest estimates with a min-heap.
+ *
+ * Counters are updated with atomic increments, so recording never blocks. Calling
+ * {@link #decay} periodically scales every counter down, so old traffic fades and the
+ * top-K follows what is popular now.
+ */
+public class HeavyHitters {
+
+    private static final int DEPTH = 4;
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private final int k;
+    private final int mask;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    /**
+     * @param k number of heaviest keys to report
+     * @param width counters per sketch row; rounded up to a power of two. Wider rows mean
+     *              fewer collisions, so a few times the number of distinct keys is plenty.
+     */
+    public HeavyHitters(int k, int width) {
+        if (k <= 0 || width <= 0) {
+            throw new IllegalArgumentException("K and width must be positive");
+        }
+        this.k = k;
+        this.width = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+    }
+
+    /**
+     * Counts one occurrence of a key.
+     *
+     * @param key key to count
+     * @return estimated count of the key, including this occurrence
+     */
+    public long add(String key) {
+        long hash = hash64(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, hash)));
+        }
+
+        candidates.add(key);
+        if (candidates.size() > k * CANDIDATE_FACTOR && pruning.compareAndSet(false, true)) {
+            try {
+                candidates.retainAll(heaviest(candidates));
+            } finally {
+                pruning.set(false);
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key key to look up
+     * @return estimated count; never lower than the true (decayed) count
+     */
+    public long estimate(String key) {
+        long hash = hash64(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @return up to K keys with the highest estimated counts, highest first
+     */
+    public List<String> top() {
+        List<String> top = heaviest(candidates);
+        top.sort(Comparator.comparingLong(this::estimate).reversed());
+        return top;
+    }
+
+    /**
+     * Scales every counter by the given factor and forgets keys whose count drops to zero.
+     *
+     * @param factor between 0 and 1, e.g. 0.5 to halve all counts
+     */
+    public void decay(double factor) {
+        if (factor < 0 || factor > 1) {
+            throw new IllegalArgumentException("Decay factor must be between 0 and 1");
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> (long) (count * factor));
+        }
+        candidates.removeIf(key -> estimate(key) == 0);
+    }
+
+    /**
+     * Picks the K keys with the highest estimates using a min-heap of size K.
+     */
+    private List<String> heaviest(Set<String> keys) {
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(k + 1, Comparator.comparingLong(Candidate::count));
+        for (String key : keys) {
+            heap.offer(new Candidate(key, estimate(key)));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<String> result = new ArrayList<>(heap.size());
+        for (Candidate candidate : heap) {
+            result.add(candidate.key());
+        }
+        return result;
+    }
+
+    /**
+     * 64-bit FNV-1a over the key's chars. Keys that share a String.hashCode (e.g. "Aa" and
+     * "BB") still get different hashes, so they do not collide in every row.
+     */
+    private static long hash64(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private int index(int row, long hash) {
+        // SplitMix64 finalizer over the key hash offset by a per-row gamma gives each row its own hash
+        long h = hash + (row + 1) * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return row * width + (int) (h & mask);
+    }
+
+    private record Candidate(String key, long count) {
+    }
+}
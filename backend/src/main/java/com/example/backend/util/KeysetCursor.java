@@ -0,0 +1,111 @@
+package com.example.backend.util;
+
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursors for keyset pagination over (createdAt, id), newest first.
+ *
+ * A cursor holds the creation time and ID of the last row on a page, base64url-encoded so
+ * clients treat it as a token. The next page is read with a range condition on those two
+ * columns, which a (user_id, created_at DESC, id DESC) index answers directly instead of
+ * scanning and discarding every earlier row as OFFSET would. The ID breaks ties between
+ * rows created in the same instant, so no row is skipped or repeated.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Response header carrying the cursor for the next page; absent on the last page.
+     */
+    public static final String HEADER = "X-Next-Cursor";
+
+    /** Page size when the client does not ask for one. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Largest page a client may ask for. */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final char SEPARATOR = '_';
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param createdAt creation time of the last row on the page
+     * @param id ID of the last row on the page
+     * @return opaque cursor for the page after that row
+     */
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String key = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor cursor from a previous page, or null/blank for the first page
+     * @return the row to continue after, or null for the first page
+     * @throws IllegalArgumentException if the cursor was not issued by {@link #encode}
+     */
+    public static Key decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf(SEPARATOR);
+            LocalDateTime createdAt = LocalDateTime.parse(key.substring(0, separator));
+            long id = Long.parseLong(key.substring(separator + 1));
+            return new Key(createdAt, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * @param requested page size asked for by the client
+     * @return the size clamped to 1..MAX_PAGE_SIZE
+     */
+    public static int pageSize(int requested) {
+        return Math.clamp(requested, 1, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * @param pageSize page size from {@link #pageSize}
+     * @return how many rows to read for a page: one more than fits, to tell whether another page follows
+     */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Cuts rows read with {@link #fetchLimit} down to a page, with a cursor after its last
+     * row if more rows follow.
+     *
+     * @param rows rows read from the repository, at most pageSize + 1
+     * @param pageSize page size from {@link #pageSize}
+     * @param cursorOf encodes the cursor after a row
+     * @param <T> row type
+     * @return the page
+     */
+    public static <T> Pagination.Page<T> page(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new Pagination.Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new Pagination.Page<>(items, cursorOf.apply(items.getLast()));
+    }
+
+    /**
+     * Position of the last row on a page.
+     *
+     * @param createdAt creation time of the row
+     * @param id ID of the row
+     */
+    public record Key(LocalDateTime createdAt, long id) {
+    }
+}
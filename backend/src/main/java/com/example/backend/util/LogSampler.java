@@ -0,0 +1,61 @@
+package com.example.backend.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits log lines per event type.
+ *
+ * Each type (e.g. an exception class) gets its own token bucket, so a burst of one
+ * expected failure cannot drown out the others. Events over the limit are only counted,
+ * and the count is reported with the next event of that type that is logged.
+ */
+public class LogSampler {
+
+    private record Sample(TokenBucket bucket, LongAdder suppressed) {
+    }
+
+    private final int perPeriod;
+    private final Duration period;
+    private final LongSupplier clock;
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+
+    /**
+     * @param perPeriod log lines allowed per type and period (also the burst size)
+     * @param period sampling period
+     */
+    public LogSampler(int perPeriod, Duration period) {
+        this(perPeriod, period, System::nanoTime);
+    }
+
+    /**
+     * @param perPeriod log lines allowed per type and period (also the burst size)
+     * @param period sampling period
+     * @param clock nanosecond clock, e.g. System::nanoTime
+     */
+    public LogSampler(int perPeriod, Duration period, LongSupplier clock) {
+        this.perPeriod = perPeriod;
+        this.period = period;
+        this.clock = clock;
+    }
+
+    /**
+     * Decides whether an event should be logged.
+     *
+     * @param type event type; keep the number of distinct types small
+     * @return -1 if the event should not be logged, otherwise the number of events of
+     *         this type suppressed since the last one that was logged
+     */
+    public long sample(String type) {
+        Sample sample = samples.computeIfAbsent(type,
+                key -> new Sample(new TokenBucket(perPeriod, period, clock), new LongAdder()));
+        if (!sample.bucket().tryAcquire()) {
+            sample.suppressed().increment();
+            return -1;
+        }
+        return sample.suppressed().sumThenReset();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.backend.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Follows cursor-paginated upstream responses (e.g. Polygon's next_url).
+ *
+ * {@link #stream} is lazy: a page is only requested once the consumer has used up the
+ * previous one, so a consumer that stops early (limit, takeWhile, findFirst) never pays
+ * for the remaining pages. {@link #collectAsync} reads every page without blocking.
+ */
+public final class Pagination {
+
+    /**
+     * One page of results.
+     *
+     * @param items results on this page
+     * @param next cursor for the next page, or null on the last page
+     * @param <T> result type
+     */
+    public record Page<T>(List<T> items, String next) {
+
+        public Page {
+            items = items != null ? items : List.of();
+        }
+    }
+
+    private Pagination() {
+    }
+
+    /**
+     * Returns a lazy stream over all pages. The calling thread waits for each page as
+     * the stream reaches it; failures are rethrown as by {@link Futures#join}.
+     *
+     * @param first requests the first page
+     * @param next requests the page for a cursor
+     * @param <T> result type
+     * @return sequential, ordered stream of results
+     */
+    public static <T> Stream<T> stream(Supplier<CompletableFuture<Page<T>>> first,
+                                       Function<String, CompletableFuture<Page<T>>> next) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new PageIterator<>(first, next), Spliterator.ORDERED),
+                false);
+    }
+
+    /**
+     * Requests every page in turn and collects the results.
+     *
+     * @param first requests the first page
+     * @param next requests the page for a cursor
+     * @param <T> result type
+     * @return future with the results of all pages, in order
+     */
+    public static <T> CompletableFuture<List<T>> collectAsync(Supplier<CompletableFuture<Page<T>>> first,
+                                                              Function<String, CompletableFuture<Page<T>>> next) {
+        List<T> results = new ArrayList<>();
+        return first.get().thenCompose(page -> collectRemaining(page, null, next, results));
+    }
+
+    private static <T> CompletableFuture<List<T>> collectRemaining(Page<T> page, String previous,
+                                                                   Function<String, CompletableFuture<Page<T>>> next,
+                                                                   List<T> results) {
+        results.addAll(page.items());
+        if (!hasMorePages(page, previous)) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return next.apply(page.next()).thenCompose(nextPage -> collectRemaining(nextPage, page.next(), next, results));
+    }
+
+    /**
+     * A cursor that repeats the previous one would loop forever, so it ends pagination.
+     */
+    private static boolean hasMorePages(Page<?> page, String previous) {
+        return page.next() != null && !page.next().isBlank() && !page.next().equals(previous);
+    }
+
+    private static final class PageIterator<T> implements Iterator<T> {
+
+        private final Function<String, CompletableFuture<Page<T>>> next;
+        private Supplier<CompletableFuture<Page<T>>> first;
+        private Page<T> page;
+        private String previous;
+        private Iterator<T> items = Collections.emptyIterator();
+
+        private PageIterator(Supplier<CompletableFuture<Page<T>>> first,
+                             Function<String, CompletableFuture<Page<T>>> next) {
+            this.first = first;
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!items.hasNext()) {
+                if (first != null) {
+                    page = Futures.join(first.get());
+                    first = null;
+                } else if (hasMorePages(page, previous)) {
+                    String cursor = page.next();
+                    page = Futures.join(next.apply(cursor));
+                    previous = cursor;
+                } else {
+                    return false;
+                }
+                items = page.items().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return items.next();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.util;
+
+import java.util.Locale;
+
+/**
+ * Helpers for working with stock symbols.
+ */
+public final class SymbolUtils {
+
+    private SymbolUtils() {
+    }
+
+    /**
+     * Normalizes a symbol so that "aapl", " AAPL " and "AAPL" map to the same key.
+     *
+     * @param symbol raw symbol from the request
+     * @return trimmed, upper-case symbol
+     */
+    public static String normalize(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.backend.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Holds up to capacity tokens and refills continuously at capacity tokens per refill
+ * period. Callers take tokens with {@link #tryAcquire}, or with {@link #tryAcquireAbove}
+ * to leave a reserve for others; state is swapped with compare-and-set, so concurrent
+ * callers never block each other.
+ */
+public class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier clock;
+    private final AtomicReference<State> state;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity maximum number of tokens (burst size)
+     * @param refillPeriod time to refill an empty bucket completely
+     */
+    public TokenBucket(double capacity, Duration refillPeriod) {
+        this(capacity, refillPeriod, System::nanoTime);
+    }
+
+    /**
+     * Creates a full bucket with a custom clock.
+     *
+     * @param capacity maximum number of tokens (burst size)
+     * @param refillPeriod time to refill an empty bucket completely
+     * @param clock nanosecond clock, e.g. System::nanoTime
+     */
+    public TokenBucket(double capacity, Duration refillPeriod, LongSupplier clock) {
+        if (capacity <= 0 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Capacity and refill period must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / refillPeriod.toNanos();
+        this.clock = clock;
+        this.state = new AtomicReference<>(new State(capacity, clock.getAsLong()));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Takes the given number of tokens if all are available.
+     *
+     * @param permits tokens to take
+     * @return true if the tokens were taken
+     */
+    public boolean tryAcquire(double permits) {
+        return take(permits, 0);
+    }
+
+    /**
+     * Takes one token if at least reserve tokens are left afterwards. The check and the
+     * take are a single compare-and-set, so concurrent callers cannot both pass the check
+     * and dig into the reserve.
+     *
+     * @param reserve tokens that must stay in the bucket
+     * @return true if a token was taken
+     */
+    public boolean tryAcquireAbove(double reserve) {
+        return take(1, reserve);
+    }
+
+    private boolean take(double permits, double reserve) {
+        while (true) {
+            long now = clock.getAsLong();
+            State current = state.get();
+            double tokens = refill(current, now);
+            if (tokens < permits + reserve) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - permits, now))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return tokens currently available
+     */
+    public double available() {
+        return refill(state.get(), clock.getAsLong());
+    }
+
+    /**
+     * @param permits tokens needed
+     * @return nanoseconds until that many tokens are available, 0 if they already are
+     */
+    public long nanosUntilAvailable(double permits) {
+        double missing = permits - available();
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    /**
+     * @return maximum number of tokens
+     */
+    public double getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes all tokens, e.g. after the upstream reported the budget as exhausted.
+     */
+    public void drain() {
+        state.set(new State(0, clock.getAsLong()));
+    }
+
+    private double refill(State current, long now) {
+        long elapsed = Math.max(0, now - current.refilledAt());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
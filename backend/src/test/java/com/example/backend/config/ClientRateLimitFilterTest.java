@@ -0,0 +1,98 @@
+package com.example.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private ClientRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        // 60 requests per minute with a burst of 6: one token per second
+        filter = new ClientRateLimitFilter(new ObjectMapper().registerModule(new JavaTimeModule()),
+                true, 60, 6, 1000, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_BurstExhausted_Returns429WithRetryAfter() throws ServletException, IOException {
+        for (int i = 0; i < 6; i++) {
+            assertThat(perform("/api/market/quote/AAPL", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = perform("/api/market/quote/AAPL", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(perform("/api/market/quote/AAPL", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_AnalysisRequests_CostThreeTokens() throws ServletException, IOException {
+        assertThat(perform("/api/market/chowder/KO", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("/api/market/ddm/KO", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform("/api/market/chowder/PG", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+    }
+
+    @Test
+    void doFilter_SeparateClients_HaveSeparateBuckets() throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user_1", null, Collections.emptyList()));
+        perform("/api/market/chowder/KO", "10.0.0.1");
+        perform("/api/market/chowder/KO", "10.0.0.1");
+        assertThat(perform("/api/market/quote/KO", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        // Same address, but anonymous: keyed by IP rather than by the signed-in user
+        SecurityContextHolder.clearContext();
+        assertThat(perform("/api/market/chowder/KO", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("/api/market/chowder/KO", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_OtherPaths_AreNotLimited() throws ServletException, IOException {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("/api/health", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse perform(String uri, String remoteAddr) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.config;
+
+import com.example.backend.util.CorrelationId;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void doFilter_ValidHeader_UsesItInMdcAndResponse() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/market/quote/AAPL");
+        request.addHeader(CorrelationId.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(CorrelationId.MDC_KEY)));
+
+        assertThat(seen.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(CorrelationId.HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(CorrelationId.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void doFilter_UnsafeHeader_GeneratesNewId() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/market/quote/AAPL");
+        request.addHeader(CorrelationId.HEADER, "forged\nlog line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getHeader(CorrelationId.HEADER))
+                .isNotBlank()
+                .doesNotContain("forged");
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.QuoteBatchView;
 import com.example.backend.dto.QuoteView;
 import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.StreamLimitException;
 import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamTimeoutException;
+import com.example.backend.exception.UpstreamUnavailableException;
 import com.example.backend.service.MarketDataService;
+import com.example.backend.service.QuoteStreamRegistry;
+import com.example.backend.service.SymbolPopularity;
+import com.example.backend.service.Versioned;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -24,20 +39,92 @@ class MarketDataControllerTest {
     @MockBean
     private MarketDataService marketDataService;
 
+    @MockBean
+    private SymbolPopularity symbolPopularity;
+
+    @MockBean
+    private QuoteStreamRegistry quoteStreamRegistry;
+
     @Test
     void getQuote_ValidSymbol_Returns200() throws Exception {
         QuoteView quote = new QuoteView();
         quote.setCurrentPrice(150.0);
-        when(marketDataService.getQuoteSanitized("AAPL")).thenReturn(quote);
+        when(marketDataService.getQuoteVersioned("AAPL")).thenReturn(new Versioned<>(quote, "q1", Duration.ofSeconds(30)));
 
         mockMvc.perform(get("/api/market/quote/AAPL"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.currentPrice").value(150.0));
+                .andExpect(jsonPath("$.currentPrice").value(150.0))
+                .andExpect(header().string("ETag", "\"q1\""))
+                .andExpect(header().string("Cache-Control", "max-age=30, public"));
+        verify(symbolPopularity).record("AAPL");
+    }
+
+    @Test
+    void getQuote_MatchingIfNoneMatch_Returns304WithoutBody() throws Exception {
+        QuoteView quote = new QuoteView();
+        quote.setCurrentPrice(150.0);
+        when(marketDataService.getQuoteVersioned("AAPL")).thenReturn(new Versioned<>(quote, "q1", Duration.ofSeconds(30)));
+
+        mockMvc.perform(get("/api/market/quote/AAPL").header("If-None-Match", "\"q1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"q1\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getQuotes_ValidSymbols_Returns200() throws Exception {
+        QuoteView quote = new QuoteView();
+        quote.setCurrentPrice(150.0);
+        QuoteBatchView batch = QuoteBatchView.builder()
+                .quotes(Map.of("AAPL", quote))
+                .errors(Map.of("BAD", new QuoteBatchView.SymbolError(400, "Bad Request", "Symbol not supported")))
+                .build();
+        when(marketDataService.getQuotesSanitized(List.of("AAPL", "BAD"))).thenReturn(batch);
+
+        mockMvc.perform(get("/api/market/quotes").param("symbols", "AAPL,BAD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quotes.AAPL.currentPrice").value(150.0))
+                .andExpect(jsonPath("$.errors.BAD.status").value(400));
+    }
+
+    @Test
+    void getQuotes_TooManySymbols_Returns400() throws Exception {
+        when(marketDataService.getQuotesSanitized(List.of("A", "B"))).thenThrow(new IllegalArgumentException("Too many symbols"));
+
+        mockMvc.perform(get("/api/market/quotes").param("symbols", "A,B"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamQuotes_TooManySymbols_Returns400() throws Exception {
+        when(quoteStreamRegistry.subscribe(eq(List.of("A", "B")), anyString()))
+                .thenThrow(new IllegalArgumentException("Too many symbols"));
+
+        mockMvc.perform(get("/api/market/stream/quotes").param("symbols", "A,B"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamQuotes_ClientStreamLimitReached_Returns429() throws Exception {
+        when(quoteStreamRegistry.subscribe(eq(List.of("AAPL")), eq("ip:127.0.0.1")))
+                .thenThrow(new StreamLimitException("At most 2 quote streams may be open per client", true));
+
+        mockMvc.perform(get("/api/market/stream/quotes").param("symbols", "AAPL"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void streamQuotes_NodeAtPollerCapacity_Returns503() throws Exception {
+        when(quoteStreamRegistry.subscribe(eq(List.of("AAPL")), anyString()))
+                .thenThrow(new StreamLimitException("Live quotes are at capacity", false));
+
+        mockMvc.perform(get("/api/market/stream/quotes").param("symbols", "AAPL"))
+                .andExpect(status().isServiceUnavailable());
     }
 
     @Test
     void getFundamentals_ValidSymbol_Returns200() throws Exception {
-        when(marketDataService.getBasicFinancialsSanitized("AAPL")).thenReturn(null);
+        when(marketDataService.getBasicFinancialsVersioned("AAPL")).thenReturn(new Versioned<>(null, "f1", Duration.ZERO));
 
         mockMvc.perform(get("/api/market/fundamentals/AAPL"))
                 .andExpect(status().isOk());
@@ -45,7 +132,7 @@ class MarketDataControllerTest {
 
     @Test
     void getChowderAnalysis_ValidSymbol_Returns200() throws Exception {
-        when(marketDataService.calculateChowderRule("PG")).thenReturn(null);
+        when(marketDataService.getChowderVersioned("PG")).thenReturn(new Versioned<>(null, "a1", Duration.ofSeconds(30)));
 
         mockMvc.perform(get("/api/market/chowder/PG"))
                 .andExpect(status().isOk());
@@ -53,18 +140,35 @@ class MarketDataControllerTest {
 
     @Test
     void getChowderAnalysis_SymbolNotSupported_Returns400() throws Exception {
-        when(marketDataService.calculateChowderRule("INVALID")).thenThrow(new SymbolNotSupportedException("Symbol not supported"));
+        when(marketDataService.getChowderVersioned("INVALID")).thenThrow(new SymbolNotSupportedException("Symbol not supported"));
 
         mockMvc.perform(get("/api/market/chowder/INVALID"))
                 .andExpect(status().isBadRequest());
+        verify(symbolPopularity, never()).record("INVALID");
     }
 
     @Test
     void getChowderAnalysis_RateLimit_Returns503() throws Exception {
-        when(marketDataService.calculateChowderRule("PG")).thenThrow(new RateLimitException("Rate limit exceeded"));
+        when(marketDataService.getChowderVersioned("PG")).thenThrow(new RateLimitException("Rate limit exceeded"));
 
         mockMvc.perform(get("/api/market/chowder/PG"))
                 .andExpect(status().isServiceUnavailable());
     }
-}
 
+    @Test
+    void getChowderAnalysis_UpstreamTimeout_Returns504() throws Exception {
+        when(marketDataService.getChowderVersioned("PG")).thenThrow(new UpstreamTimeoutException("Timed out"));
+
+        mockMvc.perform(get("/api/market/chowder/PG"))
+                .andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    void getQuote_UpstreamUnavailable_Returns503() throws Exception {
+        when(marketDataService.getQuoteVersioned("AAPL"))
+                .thenThrow(new UpstreamUnavailableException("Finnhub API is temporarily unavailable"));
+
+        mockMvc.perform(get("/api/market/quote/AAPL"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.BulkImportResultDto;
 import com.example.backend.dto.SavedDdmAnalysisRequestDto;
 import com.example.backend.dto.SavedDdmAnalysisResponseDto;
+import com.example.backend.exception.BulkImportException;
 import com.example.backend.service.SavedDdmAnalysisService;
+import com.example.backend.util.KeysetCursor;
+import com.example.backend.util.Pagination;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -89,13 +93,61 @@ class SavedAnalysisControllerTest {
                         .build()
         );
 
-        when(service.getAllByUserId()).thenReturn(analyses);
+        when(service.getPageByUserId(null, 50)).thenReturn(new Pagination.Page<>(analyses, "next-page"));
 
         mockMvc.perform(get("/api/saved/ddm"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.HEADER, "next-page"))
                 .andExpect(jsonPath("$.length()").value(1));
     }
 
+    @Test
+    @WithMockUser
+    void getAllAnalyses_InvalidCursor_Returns400() throws Exception {
+        when(service.getPageByUserId("bogus", 50)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/saved/ddm").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void importAnalyses_ReturnsCountsAndRowErrors() throws Exception {
+        List<SavedDdmAnalysisRequestDto> rows = List.of(
+                new SavedDdmAnalysisRequestDto("AAPL", 2.0, 5.0, 8.0, null, null, 50.0, true),
+                new SavedDdmAnalysisRequestDto("", 2.0, 5.0, 8.0, null, null, 50.0, true));
+        BulkImportResultDto result = BulkImportResultDto.builder()
+                .received(2)
+                .imported(1)
+                .errors(List.of(new BulkImportResultDto.RowError(1, List.of("symbol: Symbol is required"))))
+                .build();
+
+        when(service.importAnalyses(rows)).thenReturn(result);
+
+        mockMvc.perform(post("/api/saved/ddm/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(1))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("symbol: Symbol is required"));
+    }
+
+    @Test
+    @WithMockUser
+    void importAnalyses_TooManyRows_Returns400() throws Exception {
+        when(service.importAnalyses(any())).thenThrow(new BulkImportException("At most 5000 rows are allowed per import"));
+
+        mockMvc.perform(post("/api/saved/ddm/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 5000 rows are allowed per import"))
+                .andExpect(jsonPath("$.path").value("/api/saved/ddm/bulk"));
+    }
+
     @Test
     void getAllAnalyses_Unauthenticated_Returns401() throws Exception {
         mockMvc.perform(get("/api/saved/ddm"))
@@ -1,11 +1,13 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.SavedDdmAnalysisResponseDto;
 import com.example.backend.model.DdmAnalysis;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -62,7 +64,7 @@ class DdmAnalysisRepositoryTest {
     }
 
     @Test
-    void findByUserIdOrderByCreatedAtDesc_ReturnsUserAnalysesOrderedByDate() {
+    void findPageByUserId_ReturnsUserAnalysesOrderedByDate() {
         String userId = "user123";
 
         DdmAnalysis older = createAnalysis(userId, "AAPL");
@@ -73,7 +75,7 @@ class DdmAnalysisRepositoryTest {
         newer.setCreatedAt(LocalDateTime.now());
         repository.save(newer);
 
-        List<DdmAnalysis> result = repository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<SavedDdmAnalysisResponseDto> result = repository.findPageByUserId(userId, Limit.of(10));
 
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getSymbol()).isEqualTo("MSFT");
@@ -81,15 +83,15 @@ class DdmAnalysisRepositoryTest {
     }
 
     @Test
-    void findByUserIdOrderByCreatedAtDesc_OnlyReturnsUserAnalyses() {
+    void findPageByUserId_OnlyReturnsUserAnalyses() {
         repository.save(createAnalysis("user1", "AAPL"));
         repository.save(createAnalysis("user2", "MSFT"));
         repository.save(createAnalysis("user1", "GOOGL"));
 
-        List<DdmAnalysis> user1Analyses = repository.findByUserIdOrderByCreatedAtDesc("user1");
+        List<SavedDdmAnalysisResponseDto> user1Analyses = repository.findPageByUserId("user1", Limit.of(10));
 
         assertThat(user1Analyses).hasSize(2);
-        assertThat(user1Analyses).extracting(DdmAnalysis::getSymbol)
+        assertThat(user1Analyses).extracting(SavedDdmAnalysisResponseDto::getSymbol)
                 .containsExactlyInAnyOrder("AAPL", "GOOGL");
     }
 
@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiKeyPoolTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private ApiKeyPool pool(List<String> keys, Duration maxWait) {
+        return new ApiKeyPool("Polygon", keys, 5, Duration.ofMinutes(1), 1,
+                Duration.ofSeconds(60), Duration.ofMinutes(10), maxWait, now::get);
+    }
+
+    @Test
+    void acquire_LeasesKeyWithMostRemainingBudget() {
+        ApiKeyPool pool = pool(List.of("one", "two"), Duration.ZERO);
+
+        ApiKeyPool.Lease first = pool.acquire().join();
+        ApiKeyPool.Lease second = pool.acquire().join();
+        ApiKeyPool.Lease third = pool.acquire().join();
+
+        assertThat(first.getKey()).isEqualTo("one");
+        assertThat(second.getKey()).isEqualTo("two");
+        assertThat(third.getKey()).isEqualTo("one");
+        assertThat(pool.availableTokens(0)).isEqualTo(3.0);
+        assertThat(pool.availableTokens(1)).isEqualTo(4.0);
+    }
+
+    @Test
+    void release_RateLimited_QuarantinesKeyWithDoublingBackoff() {
+        ApiKeyPool pool = pool(List.of("one", "two"), Duration.ZERO);
+
+        pool.acquire().join().release(new RateLimitException("Polygon API rate limit exceeded"));
+
+        assertThat(pool.isQuarantined(0)).isTrue();
+        assertThat(pool.acquire().join().getKey()).isEqualTo("two");
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertThat(pool.isQuarantined(0)).isFalse();
+
+        // Second consecutive 429 benches the key for twice as long
+        ApiKeyPool.Lease lease = pool.acquire().join();
+        assertThat(lease.getKey()).isEqualTo("one");
+        lease.release(new RateLimitException("Polygon API rate limit exceeded"));
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertThat(pool.isQuarantined(0)).isTrue();
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertThat(pool.isQuarantined(0)).isFalse();
+    }
+
+    @Test
+    void acquire_AllKeysExhausted_FailsAfterMaxWait() {
+        ApiKeyPool pool = pool(List.of("one"), Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            pool.acquire().join().release(null);
+        }
+
+        assertThatThrownBy(() -> pool.acquire().join())
+                .hasCauseInstanceOf(RateLimitException.class);
+    }
+
+    @Test
+    void acquire_Background_LeavesReserveForInteractiveRequests() {
+        ApiKeyPool pool = pool(List.of("one"), Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            pool.acquire(RequestPriority.BACKGROUND).join().release(null);
+        }
+
+        assertThatThrownBy(() -> pool.acquire(RequestPriority.BACKGROUND).join())
+                .hasCauseInstanceOf(RateLimitException.class);
+        assertThat(pool.acquire(RequestPriority.INTERACTIVE).join().getKey()).isEqualTo("one");
+    }
+
+    @Test
+    void acquire_KeyFreesUpWithinMaxWait_WaitsInsteadOfFailing() {
+        // Real clock: one key with 600 requests/minute refills a token every 100ms
+        ApiKeyPool pool = new ApiKeyPool("Polygon", List.of("one"), 600, Duration.ofMinutes(1), 0,
+                Duration.ofSeconds(60), Duration.ofMinutes(10), Duration.ofSeconds(2), System::nanoTime);
+        for (int i = 0; i < 600; i++) {
+            pool.acquire().join();
+        }
+
+        assertThat(pool.acquire().join().getKey()).isEqualTo("one");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.service;
+
+import com.example.backend.config.BulkImportProperties;
+import com.example.backend.dto.BulkImportResultDto;
+import com.example.backend.dto.SavedDdmAnalysisRequestDto;
+import com.example.backend.exception.BulkImportException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImporterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private final List<List<String>> savedChunks = new ArrayList<>();
+
+    private BulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        BulkImportProperties properties = new BulkImportProperties();
+        properties.setMaxRows(5);
+        properties.setChunkSize(2);
+        importer = new BulkImporter(validatorFactory.getValidator(), new TransactionTemplate(transactionManager),
+                entityManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importRows_InvalidRows_ReportedByPositionAndOthersSavedInChunks() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<SavedDdmAnalysisRequestDto> rows = Arrays.asList(
+                row("AAPL"), row(""), row("MSFT"), null, row("KO"));
+
+        BulkImportResultDto result = importer.importRows(rows, SavedDdmAnalysisRequestDto::getSymbol, savedChunks::add);
+
+        assertThat(savedChunks).containsExactly(List.of("AAPL", "MSFT"), List.of("KO"));
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).containsExactly(
+                new BulkImportResultDto.RowError(1, List.of("symbol: Symbol is required")),
+                new BulkImportResultDto.RowError(3, List.of("Row is empty")));
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importRows_ChunkRejectedByDatabase_OnlyThatChunkRolledBackAndReported() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<SavedDdmAnalysisRequestDto> rows = List.of(row("AAPL"), row("MSFT"), row("KO"));
+
+        BulkImportResultDto result = importer.importRows(rows, SavedDdmAnalysisRequestDto::getSymbol, chunk -> {
+            if (chunk.contains("KO")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            savedChunks.add(chunk);
+        });
+
+        assertThat(savedChunks).containsExactly(List.of("AAPL", "MSFT"));
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(
+                new BulkImportResultDto.RowError(2, List.of("Row could not be saved")));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importRows_TooManyRows_Throws() {
+        List<SavedDdmAnalysisRequestDto> rows = List.of(row("A"), row("B"), row("C"), row("D"), row("E"), row("F"));
+
+        assertThatThrownBy(() -> importer.importRows(rows, SavedDdmAnalysisRequestDto::getSymbol, savedChunks::add))
+                .isInstanceOf(BulkImportException.class)
+                .hasMessage("At most 5 rows are allowed per import");
+        assertThat(savedChunks).isEmpty();
+    }
+
+    private static SavedDdmAnalysisRequestDto row(String symbol) {
+        return new SavedDdmAnalysisRequestDto(symbol, 2.0, 5.0, 8.0, null, null, 50.0, true);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachePrewarmerTest {
+
+    @Mock
+    private SymbolPopularity popularity;
+
+    @Mock
+    private MarketDataService marketDataService;
+
+    @Mock
+    private PolygonService polygonService;
+
+    private MarketDataProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MarketDataProperties();
+        // 20% of 60 Finnhub calls/min over a 30s run: 6 calls; 20% of 3 x 5 Polygon calls/min: one sync
+        properties.getPrewarm().setQuotaShare(0.2);
+        properties.getPrewarm().setInterval(Duration.ofSeconds(30));
+        lenient().when(polygonService.getApiKeyCount()).thenReturn(3);
+    }
+
+    @Test
+    void prewarm_PopularSymbols_RefreshedInOrderWithinBudget() {
+        when(popularity.top()).thenReturn(List.of("AAPL", "MSFT", "KO", "PG"));
+        when(marketDataService.prewarmQuote(anyString(), any())).thenReturn(true);
+        when(marketDataService.prewarmBasicFinancials(anyString(), any())).thenReturn(true);
+        when(marketDataService.prewarmDividendHistory(anyString())).thenReturn(true);
+
+        newPrewarmer().prewarm();
+
+        verify(marketDataService).prewarmQuote(eq("AAPL"), any());
+        verify(marketDataService).prewarmQuote(eq("MSFT"), any());
+        verify(marketDataService).prewarmQuote(eq("KO"), any());
+        verify(marketDataService, never()).prewarmQuote(eq("PG"), any());
+        verify(marketDataService, times(3)).prewarmBasicFinancials(anyString(), any());
+        verify(marketDataService, times(1)).prewarmDividendHistory("AAPL");
+    }
+
+    @Test
+    void prewarm_FreshEntries_DoNotUseBudget() {
+        when(popularity.top()).thenReturn(List.of("AAPL", "MSFT", "KO", "PG"));
+        when(marketDataService.prewarmQuote(anyString(), any())).thenReturn(false);
+        when(marketDataService.prewarmBasicFinancials(anyString(), any())).thenReturn(false);
+        when(marketDataService.prewarmDividendHistory(anyString())).thenReturn(false);
+
+        newPrewarmer().prewarm();
+
+        verify(marketDataService, times(4)).prewarmQuote(anyString(), any());
+        verify(marketDataService, times(4)).prewarmDividendHistory(anyString());
+    }
+
+    @Test
+    void prewarm_Disabled_DoesNothing() {
+        properties.getPrewarm().setEnabled(false);
+
+        newPrewarmer().prewarm();
+
+        verifyNoInteractions(popularity, marketDataService);
+    }
+
+    @Test
+    void prewarm_PreviousRunNotFinished_SkipsRun() {
+        List<Runnable> queued = new ArrayList<>();
+        CachePrewarmer prewarmer = new CachePrewarmer(popularity, marketDataService, polygonService, properties, queued::add);
+
+        prewarmer.prewarm();
+        prewarmer.prewarm();
+
+        assertThat(queued).hasSize(1);
+        verifyNoInteractions(popularity);
+
+        when(popularity.top()).thenReturn(List.of());
+        queued.get(0).run();
+        prewarmer.prewarm();
+
+        assertThat(queued).hasSize(2);
+    }
+
+    private CachePrewarmer newPrewarmer() {
+        return new CachePrewarmer(popularity, marketDataService, polygonService, properties, Runnable::run);
+    }
+}
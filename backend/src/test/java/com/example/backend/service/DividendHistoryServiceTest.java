@@ -0,0 +1,204 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.dto.DividendDto;
+import com.example.backend.model.CorporateActionSyncState;
+import com.example.backend.model.CorporateActionType;
+import com.example.backend.model.DividendEvent;
+import com.example.backend.repository.CorporateActionSyncStateRepository;
+import com.example.backend.repository.DividendEventRepository;
+import com.example.backend.repository.StockSplitEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DividendHistoryServiceTest {
+
+    @Mock
+    private PolygonService polygonService;
+
+    @Mock
+    private DividendEventRepository dividendRepository;
+
+    @Mock
+    private StockSplitEventRepository splitRepository;
+
+    @Mock
+    private CorporateActionSyncStateRepository syncStateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DividendHistoryService service;
+
+    private static final LocalDate FROM = LocalDate.of(2018, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        service = new DividendHistoryService(polygonService, dividendRepository, splitRepository,
+                syncStateRepository, new TransactionTemplate(transactionManager), new MarketDataProperties());
+    }
+
+    @Test
+    void getDividends_NoSyncState_FetchesFullHistoryAndStoresIt() {
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now())));
+        when(polygonService.streamDividendHistory("PG", "2018-01-01", RequestPriority.INTERACTIVE)).thenReturn(Stream.of(
+                new DividendDto(1.0065, "2024-10-18", "E2"),
+                new DividendDto(1.0065, "2024-07-19", "E1")));
+
+        service.getDividends("pg", "2018-01-01");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DividendEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(dividendRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(2);
+
+        ArgumentCaptor<CorporateActionSyncState> savedState = ArgumentCaptor.forClass(CorporateActionSyncState.class);
+        verify(syncStateRepository).save(savedState.capture());
+        assertThat(savedState.getValue().getCoveredFrom()).isEqualTo(FROM);
+        assertThat(savedState.getValue().getLastEventDate()).isEqualTo(LocalDate.of(2024, 10, 18));
+    }
+
+    @Test
+    void getDividends_RecentlySynced_ReadsFromStoreOnly() {
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now())));
+        when(dividendRepository.findBySymbolAndExDividendDateGreaterThanEqualOrderByExDividendDateDesc("PG", FROM))
+                .thenReturn(List.of(new DividendEvent(1L, "PG", LocalDate.of(2024, 10, 18), 1.0065, "E1")));
+
+        List<DividendDto> result = service.getDividends("PG", "2018-01-01");
+
+        assertThat(result).extracting(DividendDto::getExDividendDate).containsExactly("2024-10-18");
+        verifyNoInteractions(polygonService);
+    }
+
+    @Test
+    void getDividends_SyncDue_RequestsOnlyEventsAfterWatermark() {
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now().minusDays(2))))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2025, 1, 24), LocalDateTime.now())));
+        when(polygonService.streamDividendHistory(anyString(), anyString(), any()))
+                .thenReturn(Stream.of(new DividendDto(1.0065, "2025-01-24", "E3")));
+
+        service.getDividends("PG", "2018-01-01");
+
+        verify(polygonService).streamDividendHistory("PG", "2024-10-19", RequestPriority.INTERACTIVE);
+        verify(syncStateRepository).save(any(CorporateActionSyncState.class));
+    }
+
+    @Test
+    void getDividends_SyncDue_StopsReadingPagesPastWatermark() {
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now().minusDays(2))))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2025, 1, 24), LocalDateTime.now())));
+        Stream<DividendDto> pages = Stream.concat(
+                Stream.of(new DividendDto(1.0065, "2025-01-24", "E3"), new DividendDto(1.0065, "2024-10-18", "E2")),
+                Stream.generate(() -> {
+                    throw new AssertionError("Page past the watermark was requested");
+                }));
+        when(polygonService.streamDividendHistory("PG", "2024-10-19", RequestPriority.INTERACTIVE)).thenReturn(pages);
+
+        service.getDividends("PG", "2018-01-01");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DividendEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(dividendRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(DividendEvent::getProviderId).containsExactly("E3");
+    }
+
+    @Test
+    void getDividends_UpcomingDividendCorrected_UpdatesStoredAmount() {
+        LocalDate today = LocalDate.now();
+        LocalDate exDate = today.plusDays(10);
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.of(state(FROM, exDate, LocalDateTime.now().minusDays(2))))
+                .thenReturn(Optional.of(state(FROM, exDate, LocalDateTime.now())));
+        DividendEvent stored = new DividendEvent(7L, "PG", exDate, 1.0, "E7");
+        when(dividendRepository.findBySymbolAndExDividendDateGreaterThanEqualOrderByExDividendDateDesc("PG", today))
+                .thenReturn(List.of(stored));
+        when(polygonService.streamDividendHistory("PG", today.toString(), RequestPriority.INTERACTIVE))
+                .thenReturn(Stream.of(new DividendDto(1.05, exDate.toString(), "E7")));
+
+        service.getDividends("PG", "2018-01-01");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DividendEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(dividendRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).containsExactly(stored);
+        assertThat(stored.getCashAmount()).isEqualTo(1.05);
+    }
+
+    @Test
+    void getDividends_RequestedRangeBeforeCoverage_Backfills() {
+        LocalDate coveredFrom = LocalDate.of(2024, 1, 1);
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.of(state(coveredFrom, LocalDate.of(2024, 10, 18), LocalDateTime.now())))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now())));
+        when(polygonService.streamDividendHistory("PG", "2018-01-01", RequestPriority.INTERACTIVE)).thenReturn(Stream.of());
+
+        service.getDividends("PG", "2018-01-01");
+
+        verify(polygonService).streamDividendHistory("PG", "2018-01-01", RequestPriority.INTERACTIVE);
+    }
+
+    @Test
+    void fetchDividendsAsync_SyncDue_StoresFetchedEventsOnlyWhenRead() {
+        when(syncStateRepository.findBySymbolAndActionType("PG", CorporateActionType.DIVIDEND))
+                .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now().minusDays(2))));
+        CompletableFuture<List<DividendDto>> fetched = new CompletableFuture<>();
+        when(polygonService.fetchDividendHistoryAsync("PG", "2024-10-19")).thenReturn(fetched);
+
+        CompletableFuture<Supplier<List<DividendDto>>> pending = service.fetchDividendsAsync("pg", "2018-01-01");
+        fetched.complete(List.of(new DividendDto(1.0065, "2025-01-24", "E3")));
+
+        assertThat(pending).isCompleted();
+        verifyNoInteractions(dividendRepository);
+
+        pending.join().get();
+
+        verify(dividendRepository).saveAll(anyList());
+        verify(syncStateRepository).save(any(CorporateActionSyncState.class));
+        verify(dividendRepository, atLeastOnce())
+                .findBySymbolAndExDividendDateGreaterThanEqualOrderByExDividendDateDesc("PG", FROM);
+    }
+
+    @Test
+    void syncIfDue_NoSyncState_LeasesPolygonKeysThroughBackgroundLane() {
+        for (CorporateActionType type : CorporateActionType.values()) {
+            when(syncStateRepository.findBySymbolAndActionType("PG", type))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(state(FROM, LocalDate.of(2024, 10, 18), LocalDateTime.now())));
+        }
+
+        assertThat(service.syncIfDue("PG", FROM)).isTrue();
+
+        verify(polygonService).streamDividendHistory("PG", "2018-01-01", RequestPriority.BACKGROUND);
+        verify(polygonService).streamStockSplits("PG", "2018-01-01", RequestPriority.BACKGROUND);
+    }
+
+    private static CorporateActionSyncState state(LocalDate coveredFrom, LocalDate lastEventDate, LocalDateTime syncedAt) {
+        return new CorporateActionSyncState(1L, "PG", CorporateActionType.DIVIDEND, coveredFrom, lastEventDate, syncedAt);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DividendDto;
+import com.example.backend.dto.StockSplitDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DividendSeriesTest {
+
+    @Test
+    void of_SplitsAfterExDate_DivideEarlierDividends() {
+        List<DividendDto> dividends = List.of(
+                new DividendDto(0.25, "2024-06-01"),
+                new DividendDto(4.0, "2019-06-01"),
+                new DividendDto(1.0, "2022-06-01"));
+        // 2:1 in 2020 and 4:1 in 2023; only later splits apply to each dividend
+        List<StockSplitDto> splits = List.of(
+                new StockSplitDto("2023-01-10", 4, 1),
+                new StockSplitDto("2020-01-10", 2, 1));
+
+        DividendSeries.Summary summary = DividendSeries.of(dividends, splits).summarize(LocalDate.of(2024, 1, 1));
+
+        assertThat(summary.yearTotal(2019)).isCloseTo(0.5, within(1e-9));
+        assertThat(summary.yearTotal(2022)).isCloseTo(0.25, within(1e-9));
+        assertThat(summary.yearTotal(2024)).isCloseTo(0.25, within(1e-9));
+    }
+
+    @Test
+    void of_SplitOnExDate_DoesNotAdjustThatDividend() {
+        DividendSeries series = DividendSeries.of(
+                List.of(new DividendDto(1.0, "2023-01-10")),
+                List.of(new StockSplitDto("2023-01-10", 2, 1)));
+
+        assertThat(series.summarize(LocalDate.of(2023, 1, 1)).windowTotal()).isEqualTo(1.0);
+    }
+
+    @Test
+    void of_InvalidEntries_AreIgnored() {
+        DividendSeries series = DividendSeries.of(
+                List.of(new DividendDto(null, "2023-03-01"), new DividendDto(1.0, null), new DividendDto(1.0, "2023-06-01")),
+                List.of(new StockSplitDto("2024-01-01", 0, 1), new StockSplitDto(null, 2, 1)));
+
+        assertThat(series.size()).isEqualTo(1);
+        assertThat(series.summarize(LocalDate.of(2023, 1, 1)).windowTotal()).isEqualTo(1.0);
+    }
+
+    @Test
+    void summarize_YearlyAndTrailingTotalsInOnePass() {
+        DividendSeries series = DividendSeries.of(List.of(
+                new DividendDto(0.5, "2021-03-01"),
+                new DividendDto(0.5, "2021-09-01"),
+                new DividendDto(0.6, "2023-03-01"),
+                new DividendDto(0.6, "2023-09-01"),
+                new DividendDto(0.7, "2024-03-01")), null);
+
+        DividendSeries.Summary summary = series.summarize(LocalDate.of(2023, 6, 1));
+
+        assertThat(summary.yearsWithDividends()).isEqualTo(3);
+        assertThat(summary.hasYear(2022)).isFalse();
+        assertThat(summary.yearTotal(2021)).isEqualTo(1.0);
+        assertThat(summary.yearTotal(2023)).isCloseTo(1.2, within(1e-9));
+        assertThat(summary.windowTotal()).isCloseTo(1.3, within(1e-9));
+        assertThat(summary.windowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void summarize_EmptySeries_HasNoYears() {
+        DividendSeries.Summary summary = DividendSeries.of(List.of(), List.of()).summarize(LocalDate.now());
+
+        assertThat(summary.yearsWithDividends()).isZero();
+        assertThat(summary.windowTotal()).isZero();
+        assertThat(summary.hasYear(LocalDate.now().getYear())).isFalse();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AnnualMetric;
+import com.example.backend.dto.LatestAnnualMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FinnhubMetricParserTest {
+
+    private static LatestAnnualMetrics parse(String json) throws IOException {
+        return FinnhubMetricParser.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parse_AnnualSeries_ReadsLatestValuePerMetric() throws IOException {
+        String json = """
+                {
+                  "metric": {"peTTM": 31.2, "52WeekHigh": 199.6},
+                  "metricType": "all",
+                  "series": {
+                    "annual": {
+                      "pe": [{"period": "2024-09-28", "v": 37.29}, {"period": "2023-09-30", "v": 27.79}],
+                      "ev": [{"period": "2024-09-28", "v": 3495.1}],
+                      "netMargin": [{"period": "2024-09-28", "v": 0.2397}],
+                      "unknownMetric": [{"period": "2024-09-28", "v": 1.0}]
+                    },
+                    "quarterly": {
+                      "pe": [{"period": "2024-12-28", "v": 99.0}]
+                    }
+                  },
+                  "symbol": "AAPL"
+                }
+                """;
+
+        LatestAnnualMetrics metrics = parse(json);
+
+        assertThat(metrics.get(AnnualMetric.PE)).isEqualTo(37.29);
+        assertThat(metrics.get(AnnualMetric.EV)).isEqualTo(3495.1);
+        assertThat(metrics.get(AnnualMetric.NET_MARGIN)).isEqualTo(0.2397);
+        assertThat(metrics.get(AnnualMetric.ROE)).isNull();
+    }
+
+    @Test
+    void parse_EmptyOrMalformedSeries_LeavesMetricsMissing() throws IOException {
+        String json = """
+                {
+                  "series": {
+                    "annual": {
+                      "pe": [],
+                      "pb": [{"period": "2024-09-28", "v": null}, {"period": "2023-09-30", "v": 45.0}],
+                      "ps": "n/a",
+                      "roa": [{"period": "2024-09-28"}]
+                    }
+                  },
+                  "symbol": "XYZ"
+                }
+                """;
+
+        LatestAnnualMetrics metrics = parse(json);
+
+        assertThat(metrics.get(AnnualMetric.PE)).isNull();
+        assertThat(metrics.get(AnnualMetric.PB)).isNull();
+        assertThat(metrics.get(AnnualMetric.PS)).isNull();
+        assertThat(metrics.get(AnnualMetric.ROA)).isNull();
+    }
+
+    @Test
+    void parse_NoSeries_ReturnsEmptyMetrics() throws IOException {
+        LatestAnnualMetrics metrics = parse("{\"metric\": {}, \"series\": {}, \"symbol\": \"XYZ\"}");
+
+        for (AnnualMetric metric : AnnualMetric.values()) {
+            assertThat(metrics.get(metric)).isNull();
+        }
+    }
+
+    @Test
+    void parse_TruncatedPayload_Throws() {
+        assertThatThrownBy(() -> parse("{\"series\": {\"annual\": {\"pe\": [{\"v\": 1.0"))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.dto.BasicFinancialsView;
+import com.example.backend.dto.ChowderResultView;
+import com.example.backend.dto.DdmDataView;
+import com.example.backend.dto.DividendDto;
+import com.example.backend.dto.QuoteBatchView;
+import com.example.backend.dto.QuoteDto;
+import com.example.backend.dto.QuoteView;
+import com.example.backend.dto.StockSplitDto;
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamTimeoutException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataServiceTest {
+
+    @Mock
+    private FinnhubService finnhubService;
+
+    @Mock
+    private DividendHistoryService dividendHistoryService;
+
+    private Cache<String, QuoteView> quoteCache;
+
+    private Cache<String, BasicFinancialsView> fundamentalsCache;
+
+    private Cache<String, Versioned<ChowderResultView>> chowderCache;
+
+    private final QueuedExecutor refreshExecutor = new QueuedExecutor();
+
+    private MarketDataProperties properties;
+
+    private MarketDataService service;
+
+    @BeforeEach
+    void setUp() {
+        quoteCache = Caffeine.newBuilder().maximumSize(10).recordStats().build();
+        fundamentalsCache = Caffeine.newBuilder().maximumSize(10).build();
+        chowderCache = Caffeine.newBuilder().maximumSize(10).build();
+        properties = new MarketDataProperties();
+        service = new MarketDataService(finnhubService, dividendHistoryService, quoteCache, fundamentalsCache,
+                chowderCache, Caffeine.newBuilder().maximumSize(10).build(), properties, refreshExecutor);
+    }
+
+    @Test
+    void getQuoteSanitized_CachedSymbol_CallsUpstreamOnce() {
+        when(finnhubService.getQuote("AAPL")).thenReturn(new QuoteDto(150.0, 151.0, 149.0, 149.5, 148.0));
+
+        QuoteView first = service.getQuoteSanitized("AAPL");
+        QuoteView second = service.getQuoteSanitized("AAPL");
+
+        assertThat(first.getCurrentPrice()).isEqualTo(150.0);
+        assertThat(second).isSameAs(first);
+        verify(finnhubService, times(1)).getQuote("AAPL");
+        assertThat(quoteCache.stats().hitCount()).isEqualTo(1);
+        assertThat(quoteCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getQuoteSanitized_DifferentCasing_SharesCacheEntry() {
+        when(finnhubService.getQuote("MSFT")).thenReturn(new QuoteDto(400.0, 401.0, 399.0, 399.5, 398.0));
+
+        service.getQuoteSanitized("msft");
+        service.getQuoteSanitized(" MSFT ");
+
+        verify(finnhubService, times(1)).getQuote("MSFT");
+    }
+
+    @Test
+    void getBasicFinancialsSanitized_FreshEntry_ReturnedWithoutRefresh() {
+        BasicFinancialsView fresh = BasicFinancialsView.builder()
+                .symbol("AAPL").fetchedAt(Instant.now()).stale(false).build();
+        fundamentalsCache.put("AAPL", fresh);
+
+        BasicFinancialsView result = service.getBasicFinancialsSanitized("AAPL");
+
+        assertThat(result).isSameAs(fresh);
+        assertThat(refreshExecutor.tasks).isEmpty();
+        verifyNoInteractions(finnhubService);
+    }
+
+    @Test
+    void getBasicFinancialsSanitized_ExpiredEntry_ServedStaleWithSingleRefresh() {
+        BasicFinancialsView expired = BasicFinancialsView.builder()
+                .symbol("AAPL").priceToEarningsRatio(30.0)
+                .fetchedAt(Instant.now().minus(Duration.ofHours(25))).stale(false).build();
+        fundamentalsCache.put("AAPL", expired);
+
+        BasicFinancialsView first = service.getBasicFinancialsSanitized("AAPL");
+        BasicFinancialsView second = service.getBasicFinancialsSanitized("aapl");
+
+        assertThat(first.getStale()).isTrue();
+        assertThat(first.getPriceToEarningsRatio()).isEqualTo(30.0);
+        assertThat(second.getStale()).isTrue();
+        assertThat(refreshExecutor.tasks).hasSize(1);
+        verifyNoInteractions(finnhubService);
+    }
+
+    @Test
+    void getBasicFinancialsVersioned_StaleEntry_NewVersionAndNoMaxAge() {
+        Instant fetchedAt = Instant.now().minus(Duration.ofHours(1));
+        fundamentalsCache.put("AAPL", BasicFinancialsView.builder()
+                .symbol("AAPL").fetchedAt(fetchedAt).stale(false).build());
+
+        Versioned<BasicFinancialsView> fresh = service.getBasicFinancialsVersioned("AAPL");
+
+        assertThat(fresh.maxAge()).isBetween(Duration.ofHours(22), Duration.ofHours(23));
+
+        fundamentalsCache.put("AAPL", BasicFinancialsView.builder()
+                .symbol("AAPL").fetchedAt(fetchedAt.minus(Duration.ofDays(1))).stale(false).build());
+
+        Versioned<BasicFinancialsView> stale = service.getBasicFinancialsVersioned("AAPL");
+
+        assertThat(stale.version()).isNotEqualTo(fresh.version());
+        assertThat(stale.maxAge()).isZero();
+        verifyNoInteractions(finnhubService);
+    }
+
+    @Test
+    void prewarmQuote_MissingEntry_FetchesInBackgroundLane() {
+        when(finnhubService.getQuoteAsync("KO", RequestPriority.BACKGROUND))
+                .thenReturn(CompletableFuture.completedFuture(new QuoteDto(60.0, 61.0, 59.0, 59.5, 59.0)));
+
+        boolean started = service.prewarmQuote("ko", Duration.ofSeconds(30));
+
+        assertThat(started).isTrue();
+        assertThat(quoteCache.getIfPresent("KO").getCurrentPrice()).isEqualTo(60.0);
+    }
+
+    @Test
+    void prewarmBasicFinancials_FreshEntry_Skipped() {
+        fundamentalsCache.put("AAPL", BasicFinancialsView.builder()
+                .symbol("AAPL").fetchedAt(Instant.now()).stale(false).build());
+
+        assertThat(service.prewarmBasicFinancials("AAPL", Duration.ofSeconds(30))).isFalse();
+        assertThat(refreshExecutor.tasks).isEmpty();
+    }
+
+    @Test
+    void getQuotesSanitized_MixedSymbols_ReturnsQuotesAndPerSymbolErrors() {
+        QuoteView cached = QuoteView.builder().currentPrice(150.0).build();
+        quoteCache.put("AAPL", cached);
+        when(finnhubService.getQuoteAsync("MSFT"))
+                .thenReturn(CompletableFuture.completedFuture(new QuoteDto(400.0, 401.0, 399.0, 399.5, 398.0)));
+        when(finnhubService.getQuoteAsync("BAD"))
+                .thenReturn(CompletableFuture.failedFuture(new SymbolNotSupportedException("BAD")));
+        when(finnhubService.getQuoteAsync("KO"))
+                .thenReturn(CompletableFuture.failedFuture(new RateLimitException("Finnhub API rate limit exceeded")));
+
+        QuoteBatchView result = service.getQuotesSanitized(List.of("aapl", "MSFT", "BAD", "KO", " msft"));
+
+        assertThat(result.getQuotes()).containsOnlyKeys("AAPL", "MSFT");
+        assertThat(result.getQuotes().get("AAPL")).isSameAs(cached);
+        assertThat(result.getQuotes().get("MSFT").getCurrentPrice()).isEqualTo(400.0);
+        assertThat(result.getErrors()).containsOnlyKeys("BAD", "KO");
+        assertThat(result.getErrors().get("BAD").getStatus()).isEqualTo(400);
+        assertThat(result.getErrors().get("KO").getStatus()).isEqualTo(503);
+        verify(finnhubService, never()).getQuoteAsync("AAPL");
+        verify(finnhubService, times(1)).getQuoteAsync("MSFT");
+        assertThat(quoteCache.getIfPresent("MSFT")).isSameAs(result.getQuotes().get("MSFT"));
+    }
+
+    @Test
+    void getQuotesSanitized_AllCached_DoesNotCallUpstream() {
+        quoteCache.put("AAPL", QuoteView.builder().currentPrice(150.0).build());
+        quoteCache.put("MSFT", QuoteView.builder().currentPrice(400.0).build());
+
+        QuoteBatchView result = service.getQuotesSanitized(List.of("AAPL", "MSFT"));
+
+        assertThat(result.getQuotes()).containsOnlyKeys("AAPL", "MSFT");
+        assertThat(result.getErrors()).isEmpty();
+        verifyNoInteractions(finnhubService);
+    }
+
+    @Test
+    void getQuotesSanitized_TooManySymbols_Throws() {
+        List<String> symbols = IntStream.range(0, 51).mapToObj(i -> "S" + i).toList();
+
+        assertThatThrownBy(() -> service.getQuotesSanitized(symbols))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(finnhubService);
+    }
+
+    @Test
+    void getDdmData_StartsAllUpstreamCallsBeforeWaiting() {
+        // The quote only arrives once the split fetch has started, so this completes only if the calls overlap
+        CompletableFuture<QuoteDto> quote = new CompletableFuture<>();
+        when(finnhubService.getQuoteAsync("KO")).thenReturn(quote);
+        when(dividendHistoryService.fetchDividendsAsync(eq("KO"), anyString())).thenReturn(
+                stored(List.of(new DividendDto(0.5, "2025-03-01"), new DividendDto(0.5, "2025-06-01"))));
+        when(dividendHistoryService.fetchSplitsAsync(eq("KO"), anyString())).thenAnswer(invocation -> {
+            quote.complete(new QuoteDto(60.0, 61.0, 59.0, 59.5, 59.0));
+            return stored(List.<StockSplitDto>of());
+        });
+
+        DdmDataView result = service.getDdmData("KO");
+
+        assertThat(result.getCurrentPrice()).isEqualTo(60.0);
+        assertThat(result.getTotalDividend()).isEqualTo(1.0);
+        assertThat(result.getDividendCount()).isEqualTo(2);
+        assertThat(quoteCache.getIfPresent("KO")).isNotNull();
+    }
+
+    @Test
+    void calculateChowderRule_SplitAdjustedHistory_UsesFiveYearCagr() {
+        int lastYear = LocalDate.now().getYear() - 1;
+        when(finnhubService.getQuoteAsync("KO")).thenReturn(quote(100.0));
+        // 2.00 before a 2:1 split is 1.00 today, so the 5-year CAGR is from 1.00 to 2.00
+        when(dividendHistoryService.fetchDividendsAsync(eq("KO"), anyString())).thenReturn(stored(List.of(
+                new DividendDto(2.0, lastYear + "-06-01"),
+                new DividendDto(2.0, (lastYear - 5) + "-06-01"))));
+        when(dividendHistoryService.fetchSplitsAsync(eq("KO"), anyString()))
+                .thenReturn(stored(List.of(new StockSplitDto((lastYear - 3) + "-01-15", 2, 1))));
+
+        ChowderResultView result = service.calculateChowderRule("KO");
+
+        assertThat(result.getIsValid()).isTrue();
+        assertThat(result.getYearsOfData()).isEqualTo(2);
+        assertThat(result.getDividendCAGR()).isCloseTo((Math.pow(2.0, 0.2) - 1) * 100, within(1e-9));
+        assertThat(result.getMessage()).contains((lastYear - 5) + "-" + lastYear);
+    }
+
+    @Test
+    void getChowderVersioned_RepeatedRequest_ServedFromCacheWithSameVersion() {
+        when(finnhubService.getQuoteAsync("KO")).thenReturn(quote(60.0));
+        when(dividendHistoryService.fetchDividendsAsync(eq("KO"), anyString())).thenReturn(stored(List.of()));
+        when(dividendHistoryService.fetchSplitsAsync(eq("KO"), anyString())).thenReturn(stored(List.of()));
+
+        Versioned<ChowderResultView> first = service.getChowderVersioned("KO");
+        Versioned<ChowderResultView> second = service.getChowderVersioned("ko");
+
+        assertThat(second.value()).isSameAs(first.value());
+        assertThat(second.version()).isEqualTo(first.version());
+        assertThat(second.maxAge()).isEqualTo(properties.getCache().getAnalysis().getTtl());
+        verify(dividendHistoryService, times(1)).fetchDividendsAsync(eq("KO"), anyString());
+    }
+
+    @Test
+    void calculateChowderRule_RateLimitedDividends_PropagatesRateLimitException() {
+        when(finnhubService.getQuoteAsync("KO")).thenReturn(quote(60.0));
+        when(dividendHistoryService.fetchDividendsAsync(eq("KO"), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RateLimitException("Polygon API rate limit exceeded")));
+        when(dividendHistoryService.fetchSplitsAsync(eq("KO"), anyString())).thenReturn(stored(List.of()));
+
+        assertThatThrownBy(() -> service.calculateChowderRule("KO"))
+                .isInstanceOf(RateLimitException.class)
+                .hasMessage("Polygon API rate limit exceeded");
+    }
+
+    @Test
+    void calculateChowderRule_SlowUpstream_ThrowsUpstreamTimeoutException() {
+        properties.getUpstream().setFanOutTimeout(Duration.ofMillis(100));
+        when(finnhubService.getQuoteAsync("KO")).thenReturn(quote(60.0));
+        when(dividendHistoryService.fetchDividendsAsync(eq("KO"), anyString())).thenReturn(new CompletableFuture<>());
+        when(dividendHistoryService.fetchSplitsAsync(eq("KO"), anyString())).thenReturn(stored(List.of()));
+
+        assertThatThrownBy(() -> service.calculateChowderRule("KO"))
+                .isInstanceOf(UpstreamTimeoutException.class);
+    }
+
+    private static CompletableFuture<QuoteDto> quote(double price) {
+        return CompletableFuture.completedFuture(new QuoteDto(price, price + 1, price - 1, price - 0.5, price - 1));
+    }
+
+    private static <T> CompletableFuture<Supplier<List<T>>> stored(List<T> events) {
+        return CompletableFuture.completedFuture(() -> events);
+    }
+
+    /**
+     * Executor that queues tasks instead of running them, so tests control when refreshes happen.
+     */
+    private static class QueuedExecutor extends AbstractExecutorService {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriorityRateLimiterTest {
+
+    @Test
+    void acquire_WithinBurst_GrantsImmediately() {
+        PriorityRateLimiter limiter = limiter(60, 3, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isCompleted();
+        }
+        assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isNotDone();
+    }
+
+    @Test
+    void acquire_BudgetExhausted_InteractiveServedBeforeEarlierBackground() throws Exception {
+        // 600/min: one token every 100ms
+        PriorityRateLimiter limiter = limiter(600, 1, 0, Duration.ofSeconds(5));
+        limiter.acquire(RequestPriority.INTERACTIVE).join();
+
+        Queue<String> order = new ConcurrentLinkedQueue<>();
+        CompletableFuture<Void> background = limiter.acquire(RequestPriority.BACKGROUND)
+                .thenRun(() -> order.add("background"));
+        CompletableFuture<Void> interactive = limiter.acquire(RequestPriority.INTERACTIVE)
+                .thenRun(() -> order.add("interactive"));
+
+        CompletableFuture.allOf(background, interactive).get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("interactive", "background");
+    }
+
+    @Test
+    void acquire_BackgroundCannotUseReserve() {
+        PriorityRateLimiter limiter = limiter(60, 3, 2, Duration.ofSeconds(1));
+        limiter.acquire(RequestPriority.BACKGROUND).join();
+
+        // Two tokens left, both reserved for interactive requests
+        assertThat(limiter.acquire(RequestPriority.BACKGROUND)).isNotDone();
+        assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isCompleted();
+    }
+
+    @Test
+    void acquire_BackgroundHeadWaitingOnReserve_InteractiveStillServedWithinMaxWait() throws Exception {
+        // 60/min: one token a second; the background head needs 3 (about 3s), interactive needs 1
+        PriorityRateLimiter limiter = new PriorityRateLimiter("Finnhub", 60, 3, 2,
+                Duration.ofMillis(1500), Duration.ofSeconds(10), System::nanoTime);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(RequestPriority.INTERACTIVE).join();
+        }
+        CompletableFuture<Void> background = limiter.acquire(RequestPriority.BACKGROUND);
+
+        CompletableFuture<Void> interactive = limiter.acquire(RequestPriority.INTERACTIVE);
+
+        interactive.get(5, TimeUnit.SECONDS);
+        assertThat(background).isNotDone();
+        assertThat(limiter.getRejectedCount()).isZero();
+    }
+
+    @Test
+    void acquire_WaitDeadlinePasses_FailsWithRateLimitException() {
+        PriorityRateLimiter limiter = limiter(1, 1, 0, Duration.ofMillis(50));
+        limiter.acquire(RequestPriority.INTERACTIVE).join();
+
+        CompletableFuture<Void> queued = limiter.acquire(RequestPriority.INTERACTIVE);
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RateLimitException.class);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+        assertThat(limiter.getQueued(RequestPriority.INTERACTIVE)).isZero();
+    }
+
+    private static PriorityRateLimiter limiter(int callsPerMinute, int burst, double reserve, Duration maxWait) {
+        return new PriorityRateLimiter("Finnhub", callsPerMinute, burst, reserve, maxWait, maxWait, System::nanoTime);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.backend.service;
+
+import com.example.backend.config.MarketDataProperties;
+import com.example.backend.dto.QuoteUpdateView;
+import com.example.backend.dto.QuoteView;
+import com.example.backend.exception.StreamLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteStreamRegistryTest {
+
+    @Mock
+    private MarketDataService marketDataService;
+
+    @Mock
+    private SymbolPopularity symbolPopularity;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private QuoteStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MarketDataProperties properties = new MarketDataProperties();
+        properties.getStream().setPollInterval(Duration.ofMinutes(1));
+        properties.getStream().setMaxPollers(3);
+        registry = new QuoteStreamRegistry(marketDataService, symbolPopularity, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void register_SharedSymbol_OnePollerUntilLastSubscriberLeaves() throws Exception {
+        when(marketDataService.getQuoteVersioned("AAPL", RequestPriority.BACKGROUND)).thenReturn(quote(150.0, "q1"));
+        when(marketDataService.getQuoteVersioned("MSFT", RequestPriority.BACKGROUND)).thenReturn(quote(400.0, "q2"));
+        BlockingQueue<QuoteStreamRegistry.Update> first = new LinkedBlockingQueue<>();
+        BlockingQueue<QuoteStreamRegistry.Update> second = new LinkedBlockingQueue<>();
+
+        QuoteStreamRegistry.Subscriber a = registry.register(Set.of("AAPL"), "ip:1", first::add);
+        assertThat(first.poll(1, TimeUnit.SECONDS).data().getQuote().getCurrentPrice()).isEqualTo(150.0);
+        QuoteStreamRegistry.Subscriber b = registry.register(Set.of("AAPL", "MSFT"), "ip:2", second::add);
+
+        // The second subscriber gets AAPL from the running poller instead of a new fetch
+        verify(marketDataService, timeout(1000)).getQuoteVersioned("MSFT", RequestPriority.BACKGROUND);
+        assertThat(List.of(second.poll(1, TimeUnit.SECONDS).symbol(), second.poll(1, TimeUnit.SECONDS).symbol()))
+                .containsExactlyInAnyOrder("AAPL", "MSFT");
+        verify(marketDataService).getQuoteVersioned("AAPL", RequestPriority.BACKGROUND);
+
+        b.close();
+        assertThat(registry.isPolling("AAPL")).isTrue();
+        assertThat(registry.isPolling("MSFT")).isFalse();
+
+        a.close();
+        assertThat(registry.isPolling("AAPL")).isFalse();
+        assertThat(meterRegistry.get("market.stream.pollers").gauge().value()).isZero();
+    }
+
+    @Test
+    void offer_SlowConsumer_ConflatedToLatestUpdate() throws Exception {
+        when(marketDataService.getQuoteVersioned("AAPL", RequestPriority.BACKGROUND)).thenReturn(quote(150.0, "q1"));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<QuoteStreamRegistry.Update> written = new LinkedBlockingQueue<>();
+
+        QuoteStreamRegistry.Subscriber subscriber = registry.register(Set.of("AAPL"), "ip:1", update -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(update);
+        });
+        assertThat(writing.await(1, TimeUnit.SECONDS)).isTrue();
+
+        subscriber.offer("AAPL", update("AAPL", 151.0));
+        subscriber.offer("AAPL", update("AAPL", 152.0));
+        release.countDown();
+
+        assertThat(written.poll(1, TimeUnit.SECONDS).data().getQuote().getCurrentPrice()).isEqualTo(150.0);
+        assertThat(written.poll(1, TimeUnit.SECONDS).data().getQuote().getCurrentPrice()).isEqualTo(152.0);
+        assertThat(written.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(meterRegistry.get("market.stream.conflated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_FirstSuccessfulQuotePerSymbol_CountedOnceTowardsPopularity() throws Exception {
+        when(marketDataService.getQuoteVersioned("AAPL", RequestPriority.BACKGROUND)).thenReturn(quote(150.0, "q1"));
+        when(marketDataService.getQuoteVersioned("NOPE", RequestPriority.BACKGROUND))
+                .thenThrow(new SymbolNotSupportedException("NOPE"));
+        BlockingQueue<QuoteStreamRegistry.Update> received = new LinkedBlockingQueue<>();
+
+        QuoteStreamRegistry.Subscriber subscriber = registry.register(Set.of("AAPL", "NOPE"), "ip:1", received::add);
+        received.poll(1, TimeUnit.SECONDS);
+        received.poll(1, TimeUnit.SECONDS);
+        subscriber.offer("AAPL", update("AAPL", 151.0));
+
+        verify(symbolPopularity).record("AAPL");
+        verify(symbolPopularity, never()).record("NOPE");
+    }
+
+    @Test
+    void register_ClientAtStreamLimit_RejectedUntilOneCloses() {
+        when(marketDataService.getQuoteVersioned("AAPL", RequestPriority.BACKGROUND)).thenReturn(quote(150.0, "q1"));
+
+        QuoteStreamRegistry.Subscriber first = registry.register(Set.of("AAPL"), "ip:1", update -> { });
+        verify(marketDataService, timeout(1000)).getQuoteVersioned("AAPL", RequestPriority.BACKGROUND);
+        registry.register(Set.of("AAPL"), "ip:1", update -> { });
+
+        assertThatThrownBy(() -> registry.register(Set.of("AAPL"), "ip:1", update -> { }))
+                .isInstanceOfSatisfying(StreamLimitException.class, e -> assertThat(e.isPerClient()).isTrue());
+        registry.register(Set.of("AAPL"), "ip:2", update -> { });
+
+        first.close();
+        registry.register(Set.of("AAPL"), "ip:1", update -> { });
+    }
+
+    @Test
+    void register_NodeAtPollerLimit_RejectsNewSymbolsButNotPolledOnes() {
+        when(marketDataService.getQuoteVersioned(anyString(), eq(RequestPriority.BACKGROUND))).thenReturn(quote(1.0, "q1"));
+        for (int i = 0; i < 3; i++) {
+            registry.register(Set.of("S" + i), "ip:" + i, update -> { });
+        }
+        verify(marketDataService, timeout(1000).times(3)).getQuoteVersioned(anyString(), eq(RequestPriority.BACKGROUND));
+
+        assertThatThrownBy(() -> registry.register(Set.of("S0", "NEW"), "ip:9", update -> { }))
+                .isInstanceOfSatisfying(StreamLimitException.class, e -> assertThat(e.isPerClient()).isFalse());
+        assertThat(registry.isPolling("NEW")).isFalse();
+
+        registry.register(Set.of("S0", "S1"), "ip:9", update -> { });
+    }
+
+    private static Versioned<QuoteView> quote(double price, String version) {
+        return new Versioned<>(QuoteView.builder().currentPrice(price).build(), version, Duration.ofSeconds(30));
+    }
+
+    private static QuoteStreamRegistry.Update update(String symbol, double price) {
+        QuoteView quote = QuoteView.builder().currentPrice(price).build();
+        return new QuoteStreamRegistry.Update(symbol, QuoteUpdateView.builder().symbol(symbol).quote(quote).build());
+    }
+}
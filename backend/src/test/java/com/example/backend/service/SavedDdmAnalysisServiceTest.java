@@ -4,12 +4,15 @@ import com.example.backend.dto.SavedDdmAnalysisRequestDto;
 import com.example.backend.dto.SavedDdmAnalysisResponseDto;
 import com.example.backend.model.DdmAnalysis;
 import com.example.backend.repository.DdmAnalysisRepository;
+import com.example.backend.util.KeysetCursor;
+import com.example.backend.util.Pagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -76,25 +79,39 @@ class SavedDdmAnalysisServiceTest {
     }
 
     @Test
-    void getAllByUserId_ReturnsUserAnalyses() {
-        DdmAnalysis analysis1 = new DdmAnalysis();
-        analysis1.setId(1L);
-        analysis1.setUserId(USER_ID);
-        analysis1.setSymbol("AAPL");
+    void getPageByUserId_ReturnsUserAnalysesWithNextCursor() {
+        SavedDdmAnalysisResponseDto analysis1 = SavedDdmAnalysisResponseDto.builder()
+                .id(3L).symbol("AAPL").createdAt(LocalDateTime.of(2024, 5, 3, 9, 0)).build();
+        SavedDdmAnalysisResponseDto analysis2 = SavedDdmAnalysisResponseDto.builder()
+                .id(2L).symbol("MSFT").createdAt(LocalDateTime.of(2024, 5, 2, 9, 0)).build();
+        SavedDdmAnalysisResponseDto analysis3 = SavedDdmAnalysisResponseDto.builder()
+                .id(1L).symbol("KO").createdAt(LocalDateTime.of(2024, 5, 1, 9, 0)).build();
+
+        // One row more than the page size signals that another page follows
+        when(repository.findPageByUserId(USER_ID, Limit.of(3)))
+                .thenReturn(Arrays.asList(analysis1, analysis2, analysis3));
+
+        Pagination.Page<SavedDdmAnalysisResponseDto> result = service.getPageByUserId(null, 2);
+
+        assertThat(result.items()).extracting(SavedDdmAnalysisResponseDto::getId).containsExactly(3L, 2L);
+        assertThat(result.next()).isEqualTo(KeysetCursor.encode(analysis2.getCreatedAt(), 2L));
+    }
 
-        DdmAnalysis analysis2 = new DdmAnalysis();
-        analysis2.setId(2L);
-        analysis2.setUserId(USER_ID);
-        analysis2.setSymbol("MSFT");
+    @Test
+    void getPageByUserId_LastPage_HasNoNextCursor() {
+        LocalDateTime after = LocalDateTime.of(2024, 5, 2, 9, 0);
+        SavedDdmAnalysisResponseDto analysis = SavedDdmAnalysisResponseDto.builder()
+                .id(1L).symbol("KO").createdAt(LocalDateTime.of(2024, 5, 1, 9, 0)).build();
 
-        when(repository.findByUserIdOrderByCreatedAtDesc(USER_ID))
-                .thenReturn(Arrays.asList(analysis1, analysis2));
+        when(repository.findPageByUserIdAfter(USER_ID, after, 2L, Limit.of(51)))
+                .thenReturn(List.of(analysis));
 
-        List<SavedDdmAnalysisResponseDto> result = service.getAllByUserId();
+        Pagination.Page<SavedDdmAnalysisResponseDto> result =
+                service.getPageByUserId(KeysetCursor.encode(after, 2L), 50);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getId()).isEqualTo(1L);
-        assertThat(result.get(1).getId()).isEqualTo(2L);
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.next()).isNull();
+        verify(repository, never()).findPageByUserId(any(), any());
     }
 
     @Test
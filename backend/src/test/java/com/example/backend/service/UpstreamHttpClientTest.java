@@ -0,0 +1,181 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.QuoteDto;
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamUnavailableException;
+import com.example.backend.util.Futures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamHttpClientTest {
+
+    private HttpServer server;
+
+    private UpstreamHttpClient client;
+
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        respond("/quote", 200, "{\"c\": 150.0, \"h\": 151.0, \"l\": 149.0, \"o\": 149.5, \"pc\": 148.0}");
+        respond("/empty", 200, "");
+        respond("/limited", 429, "{\"error\": \"API limit reached\"}");
+        respond("/unknown", 404, "");
+        respond("/broken", 502, "");
+        server.createContext("/slow", exchange -> {
+            try {
+                slowRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        client = new UpstreamHttpClient("Finnhub", HttpAsyncClients.createDefault(), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRelease.countDown();
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void getJson_Success_MapsBody() {
+        QuoteDto quote = Futures.join(client.getJson(uri("/quote"), "AAPL", QuoteDto.class));
+
+        assertThat(quote.getCurrentPrice()).isEqualTo(150.0);
+        assertThat(quote.getPreviousClose()).isEqualTo(148.0);
+    }
+
+    @Test
+    void getJson_EmptyBody_ReturnsNull() {
+        assertThat(Futures.join(client.getJson(uri("/empty"), "AAPL", QuoteDto.class))).isNull();
+    }
+
+    @Test
+    void getJson_TooManyRequests_FailsWithRateLimitException() {
+        assertThatThrownBy(() -> Futures.join(client.getJson(uri("/limited"), "AAPL", QuoteDto.class)))
+                .isInstanceOf(RateLimitException.class)
+                .hasMessage("Finnhub API rate limit exceeded");
+    }
+
+    @Test
+    void getJson_NotFound_FailsWithSymbolNotSupportedException() {
+        assertThatThrownBy(() -> Futures.join(client.getJson(uri("/unknown"), "XYZ", QuoteDto.class)))
+                .isInstanceOf(SymbolNotSupportedException.class);
+    }
+
+    @Test
+    void getJson_ServerError_FailsWithRuntimeException() {
+        assertThatThrownBy(() -> Futures.join(client.getJson(uri("/broken"), "AAPL", QuoteDto.class)))
+                .isExactlyInstanceOf(RuntimeException.class)
+                .hasMessageContaining("HTTP 502");
+    }
+
+    @Test
+    void get_RepeatedServerErrors_OpensCircuitAndFailsFast() {
+        UpstreamHttpClient guarded = guardedClient(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> Futures.join(guarded.getJson(uri("/broken"), "AAPL", QuoteDto.class)))
+                        .hasMessageContaining("HTTP 502");
+            }
+
+            assertThatThrownBy(() -> Futures.join(guarded.getJson(uri("/quote"), "AAPL", QuoteDto.class)))
+                    .isInstanceOf(UpstreamUnavailableException.class)
+                    .hasMessage("Finnhub API is temporarily unavailable");
+        } finally {
+            guarded.close();
+        }
+    }
+
+    @Test
+    void get_UnknownSymbols_DoNotOpenCircuit() {
+        UpstreamHttpClient guarded = guardedClient(1);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> Futures.join(guarded.getJson(uri("/unknown"), "XYZ", QuoteDto.class)))
+                        .isInstanceOf(SymbolNotSupportedException.class);
+            }
+
+            assertThat(Futures.join(guarded.getJson(uri("/quote"), "AAPL", QuoteDto.class))).isNotNull();
+        } finally {
+            guarded.close();
+        }
+    }
+
+    @Test
+    void get_ConcurrencyLimitReached_RejectsWithoutWaiting() {
+        UpstreamHttpClient guarded = guardedClient(1);
+        try {
+            CompletableFuture<QuoteDto> slow = guarded.getJson(uri("/slow"), "AAPL", QuoteDto.class);
+
+            assertThatThrownBy(() -> Futures.join(guarded.getJson(uri("/quote"), "AAPL", QuoteDto.class)))
+                    .isInstanceOf(UpstreamUnavailableException.class)
+                    .hasMessage("Finnhub API is at its concurrency limit");
+
+            slowRelease.countDown();
+            assertThat(Futures.join(slow)).isNull();
+            assertThat(Futures.join(guarded.getJson(uri("/quote"), "AAPL", QuoteDto.class))).isNotNull();
+        } finally {
+            guarded.close();
+        }
+    }
+
+    private UpstreamHttpClient guardedClient(int maxConcurrentCalls) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("finnhub", UpstreamHttpClient.circuitBreakerConfig()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("finnhub", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new UpstreamHttpClient("Finnhub", HttpAsyncClients.createDefault(), new ObjectMapper(),
+                circuitBreaker, bulkhead);
+    }
+
+    private void respond(String path, int status, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
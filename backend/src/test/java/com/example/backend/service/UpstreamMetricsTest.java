@@ -0,0 +1,53 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.RateLimitException;
+import com.example.backend.exception.SymbolNotSupportedException;
+import com.example.backend.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UpstreamMetrics metrics = new UpstreamMetrics("polygon", meterRegistry);
+
+    @Test
+    void time_CompletedRequest_RecordsOutcomeAndSlot() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        metrics.time("dividends", 2, () -> pending);
+
+        assertThat(meterRegistry.find("upstream.requests").timer()).isNull();
+
+        pending.complete("body");
+
+        assertThat(meterRegistry.get("upstream.requests")
+                .tags("upstream", "polygon", "endpoint", "dividends", "outcome", "success", "slot", "2")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void time_FailedRequest_TagsOutcomeByException() {
+        metrics.time("splits", 0, () -> CompletableFuture.failedFuture(new RateLimitException("Polygon API rate limit exceeded")));
+        metrics.time("splits", 0, () -> CompletableFuture.failedFuture(new UpstreamUnavailableException("Polygon API is temporarily unavailable")));
+
+        assertThat(meterRegistry.get("upstream.requests").tag("outcome", "rate_limited").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("upstream.requests").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countErrors_RateLimitAndUnknownSymbol_CountedPerException() {
+        metrics.countErrors("dividends", CompletableFuture.failedFuture(new RateLimitException("All Polygon API keys are rate limited")));
+        metrics.countErrors("dividends", CompletableFuture.failedFuture(new SymbolNotSupportedException("XYZ")));
+        metrics.countErrors("dividends", CompletableFuture.failedFuture(new RuntimeException("Unexpected error calling Polygon API")));
+        metrics.countErrors("dividends", CompletableFuture.completedFuture("body"));
+
+        assertThat(meterRegistry.get("upstream.errors").tag("exception", "RateLimitException").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("upstream.errors").tag("exception", "SymbolNotSupportedException").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("upstream.errors").counters()).hasSize(2);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeavyHittersTest {
+
+    @Test
+    void top_SkewedTraffic_ReturnsHeaviestKeysInOrder() {
+        HeavyHitters sketch = new HeavyHitters(3, 1024);
+        add(sketch, "AAPL", 50);
+        add(sketch, "MSFT", 30);
+        add(sketch, "KO", 20);
+        // Long tail of one-off symbols, enough to force the candidate set to be pruned
+        for (int i = 0; i < 100; i++) {
+            sketch.add("TAIL" + i);
+        }
+
+        assertThat(sketch.top()).containsExactly("AAPL", "MSFT", "KO");
+    }
+
+    @Test
+    void estimate_NeverBelowTrueCount() {
+        HeavyHitters sketch = new HeavyHitters(5, 16);
+        for (int i = 0; i < 200; i++) {
+            sketch.add("S" + (i % 40));
+        }
+
+        for (int i = 0; i < 40; i++) {
+            assertThat(sketch.estimate("S" + i)).isGreaterThanOrEqualTo(5);
+        }
+    }
+
+    @Test
+    void estimate_KeysWithSameHashCode_CountedSeparately() {
+        HeavyHitters sketch = new HeavyHitters(5, 1024);
+        add(sketch, "AaAa", 100);
+
+        // All four share String.hashCode with "AaAa"
+        for (String collision : new String[] {"BBBB", "AaBB", "BBAa"}) {
+            assertThat(sketch.estimate(collision)).isLessThan(100);
+        }
+    }
+
+    @Test
+    void decay_OldTrafficFades_NewTrafficTakesOver() {
+        HeavyHitters sketch = new HeavyHitters(1, 1024);
+        add(sketch, "GME", 100);
+
+        for (int i = 0; i < 4; i++) {
+            sketch.decay(0.5);
+            add(sketch, "NVDA", 10);
+        }
+
+        assertThat(sketch.estimate("GME")).isEqualTo(6);
+        assertThat(sketch.top()).containsExactly("NVDA");
+    }
+
+    @Test
+    void decay_CountsReachZero_KeyIsForgotten() {
+        HeavyHitters sketch = new HeavyHitters(5, 1024);
+        sketch.add("KO");
+
+        sketch.decay(0.5);
+
+        assertThat(sketch.top()).isEmpty();
+        assertThatThrownBy(() -> sketch.decay(2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void add(HeavyHitters sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.add(key);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_EncodedCursor_ReturnsSameRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_456_000);
+
+        KeysetCursor.Key key = KeysetCursor.decode(KeysetCursor.encode(createdAt, 42L));
+
+        assertThat(key).isEqualTo(new KeysetCursor.Key(createdAt, 42L));
+    }
+
+    @Test
+    void decode_NoCursor_StartsAtFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("")).isNull();
+    }
+
+    @Test
+    void decode_MalformedCursor_Throws() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> KeysetCursor.decode("bm9zZXBhcmF0b3I"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void pageSize_OutOfRange_Clamped() {
+        assertThat(KeysetCursor.pageSize(0)).isEqualTo(1);
+        assertThat(KeysetCursor.pageSize(10_000)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+        assertThat(KeysetCursor.fetchLimit(50).max()).isEqualTo(51);
+    }
+
+    @Test
+    void page_ExtraRowRead_TrimmedWithCursorAfterLastKeptRow() {
+        Pagination.Page<Integer> page = KeysetCursor.page(List.of(5, 4, 3), 2, i -> "after-" + i);
+
+        assertThat(page.items()).containsExactly(5, 4);
+        assertThat(page.next()).isEqualTo("after-4");
+    }
+
+    @Test
+    void page_NoExtraRow_IsLastPage() {
+        Pagination.Page<Integer> page = KeysetCursor.page(List.of(2, 1), 2, i -> "after-" + i);
+
+        assertThat(page.items()).containsExactly(2, 1);
+        assertThat(page.next()).isNull();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final LogSampler sampler = new LogSampler(2, Duration.ofMinutes(1), now::get);
+
+    @Test
+    void sample_OverLimit_SuppressesAndReportsCountWithNextLoggedEvent() {
+        assertThat(sampler.sample("RateLimitException")).isZero();
+        assertThat(sampler.sample("RateLimitException")).isZero();
+        assertThat(sampler.sample("RateLimitException")).isEqualTo(-1);
+        assertThat(sampler.sample("RateLimitException")).isEqualTo(-1);
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThat(sampler.sample("RateLimitException")).isEqualTo(2);
+        assertThat(sampler.sample("RateLimitException")).isEqualTo(-1);
+    }
+
+    @Test
+    void sample_DifferentTypes_HaveSeparateLimits() {
+        sampler.sample("RateLimitException");
+        sampler.sample("RateLimitException");
+
+        assertThat(sampler.sample("RateLimitException")).isEqualTo(-1);
+        assertThat(sampler.sample("SymbolNotSupportedException")).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.util;
+
+import com.example.backend.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaginationTest {
+
+    private final List<String> requested = new ArrayList<>();
+
+    private final Map<String, Pagination.Page<Integer>> pages = Map.of(
+            "first", new Pagination.Page<>(List.of(1, 2), "page2"),
+            "page2", new Pagination.Page<>(List.of(3, 4), "page3"),
+            "page3", new Pagination.Page<>(List.of(5), null));
+
+    private final Supplier<CompletableFuture<Pagination.Page<Integer>>> first = () -> request("first");
+
+    private final Function<String, CompletableFuture<Pagination.Page<Integer>>> next = this::request;
+
+    @Test
+    void stream_FullyConsumed_FollowsEveryCursor() {
+        assertThat(Pagination.stream(first, next).toList()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(requested).containsExactly("first", "page2", "page3");
+    }
+
+    @Test
+    void stream_StoppedEarly_DoesNotRequestRemainingPages() {
+        List<Integer> result = Pagination.stream(first, next).takeWhile(i -> i < 3).toList();
+
+        assertThat(result).containsExactly(1, 2);
+        assertThat(requested).containsExactly("first", "page2");
+    }
+
+    @Test
+    void stream_NotConsumed_RequestsNothing() {
+        Pagination.stream(first, next);
+
+        assertThat(requested).isEmpty();
+    }
+
+    @Test
+    void collectAsync_MultiplePages_ReturnsAllResultsInOrder() {
+        assertThat(Futures.join(Pagination.collectAsync(first, next))).containsExactly(1, 2, 3, 4, 5);
+        assertThat(requested).containsExactly("first", "page2", "page3");
+    }
+
+    @Test
+    void collectAsync_RepeatedCursor_StopsInsteadOfLooping() {
+        Function<String, CompletableFuture<Pagination.Page<Integer>>> looping =
+                cursor -> CompletableFuture.completedFuture(new Pagination.Page<>(List.of(9), cursor));
+
+        List<Integer> result = Futures.join(Pagination.collectAsync(
+                () -> CompletableFuture.completedFuture(new Pagination.Page<>(List.of(1), "again")), looping));
+
+        assertThat(result).containsExactly(1, 9);
+    }
+
+    @Test
+    void stream_FailedPage_RethrowsWhenReached() {
+        Function<String, CompletableFuture<Pagination.Page<Integer>>> failing =
+                cursor -> CompletableFuture.failedFuture(new RateLimitException("Polygon API rate limit exceeded"));
+
+        assertThat(Pagination.stream(first, failing).limit(2).toList()).containsExactly(1, 2);
+        assertThatThrownBy(() -> Pagination.stream(first, failing).toList())
+                .isInstanceOf(RateLimitException.class);
+    }
+
+    @Test
+    void collectAsync_FailedPage_FailsWithPageError() {
+        Function<String, CompletableFuture<Pagination.Page<Integer>>> failing =
+                cursor -> CompletableFuture.failedFuture(new RateLimitException("Polygon API rate limit exceeded"));
+
+        assertThatThrownBy(() -> Futures.join(Pagination.collectAsync(first, failing)))
+                .isInstanceOf(RateLimitException.class);
+    }
+
+    private CompletableFuture<Pagination.Page<Integer>> request(String cursor) {
+        requested.add(cursor);
+        return CompletableFuture.completedFuture(pages.get(cursor));
+    }
+}
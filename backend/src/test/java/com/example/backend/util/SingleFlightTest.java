@@ -0,0 +1,140 @@
+package com.example.backend.util;
+
+import com.example.backend.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_ConcurrentCallsForSameKey_ShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("AAPL", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "quote";
+            })));
+            waitUntilInFlight();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("AAPL", () -> {
+                    executions.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            waitUntilCoalesced(3);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("quote");
+            }
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(singleFlight.getCoalescedCount()).isEqualTo(3);
+            assertThat(singleFlight.getInFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_LeaderFails_FollowersReceiveSameException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("PG", () -> {
+                await(release);
+                throw new RateLimitException("Polygon API rate limit exceeded");
+            }));
+            waitUntilInFlight();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("PG", () -> "unused"));
+            waitUntilCoalesced(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RateLimitException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RateLimitException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_SequentialCalls_ExecuteEachTime() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("KO", () -> "first-" + executions.incrementAndGet());
+        String second = singleFlight.execute("KO", () -> "second-" + executions.incrementAndGet());
+
+        assertThat(second).isEqualTo("second-2");
+        assertThat(singleFlight.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void executeAsync_ConcurrentCallsForSameKey_ShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("MSFT", () -> {
+            executions.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("MSFT", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture("duplicate");
+        });
+        second.cancel(false);
+        upstream.complete("quote");
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("quote");
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void executeAsync_CallFails_ReleasesKeyAndPropagatesException() {
+        CompletableFuture<String> failed = singleFlight.executeAsync("PG",
+                () -> CompletableFuture.failedFuture(new RateLimitException("Polygon API rate limit exceeded")));
+
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(RateLimitException.class);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    private void waitUntilInFlight() throws InterruptedException {
+        while (singleFlight.getInFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void waitUntilCoalesced(long expected) throws InterruptedException {
+        while (singleFlight.getCoalescedCount() < expected) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final TokenBucket bucket = new TokenBucket(5, Duration.ofMinutes(1), now::get);
+
+    @Test
+    void tryAcquire_FullBucket_AllowsBurstUpToCapacity() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire()).isTrue();
+        }
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void tryAcquire_AfterRefillInterval_AllowsOneMore() {
+        bucket.tryAcquire(5);
+
+        now.addAndGet(Duration.ofSeconds(12).toNanos());
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void tryAcquireAbove_StopsAtReserve() {
+        bucket.tryAcquire(2);
+
+        assertThat(bucket.tryAcquireAbove(2)).isTrue();
+        assertThat(bucket.tryAcquireAbove(2)).isFalse();
+        assertThat(bucket.available()).isEqualTo(2.0);
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void tryAcquireAbove_ConcurrentCallers_NeverTakeTheReserve() throws InterruptedException {
+        TokenBucket shared = new TokenBucket(1000, Duration.ofDays(1), now::get);
+        AtomicInteger taken = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                while (shared.tryAcquireAbove(10)) {
+                    taken.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(taken.get()).isEqualTo(990);
+        assertThat(shared.available()).isEqualTo(10.0);
+    }
+
+    @Test
+    void nanosUntilAvailable_EmptyBucket_ReportsRefillTime() {
+        bucket.drain();
+
+        assertThat(bucket.nanosUntilAvailable(1)).isEqualTo(Duration.ofSeconds(12).toNanos());
+        assertThat(bucket.available()).isZero();
+    }
+
+    @Test
+    void available_LongIdle_CapsAtCapacity() {
+        bucket.tryAcquire(3);
+
+        now.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertThat(bucket.available()).isEqualTo(5.0);
+    }
+}
@@ -8,6 +8,11 @@ import {
   type SaveChowderAnalysisRequest,
   type SavedChowderAnalysis,
 } from '../../../services/api'
+import {
+  prependSaved,
+  updateSaved,
+  type SavedPages,
+} from '../../../utils/savedPages'
 import MetricRow from '../../calculators/shared/MetricRow'
 import FormulaBlock from '../../calculators/shared/FormulaBlock'
 import Card from '../../shared/Card'
@@ -104,9 +109,9 @@ export default function ChowderContainer() {
       setSaveError(null)
       setSaveSuccess(false)
       await queryClient.cancelQueries({ queryKey: ['savedChowderAnalyses'] })
-      const previous = queryClient.getQueryData<SavedChowderAnalysis[]>([
-        'savedChowderAnalyses',
-      ])
+      const previous = queryClient.getQueryData<
+        SavedPages<SavedChowderAnalysis>
+      >(['savedChowderAnalyses'])
       const optimistic: SavedChowderAnalysis = {
         id: -Date.now(),
         symbol: saveData.symbol,
@@ -118,9 +123,9 @@ export default function ChowderContainer() {
         message: saveData.message ?? null,
         createdAt: new Date().toISOString(),
       }
-      queryClient.setQueryData<SavedChowderAnalysis[] | undefined>(
+      queryClient.setQueryData<SavedPages<SavedChowderAnalysis> | undefined>(
         ['savedChowderAnalyses'],
-        (old) => (old ? [optimistic, ...old] : [optimistic]),
+        (old) => prependSaved(old, optimistic),
       )
       return { previous, tempId: optimistic.id }
     },
@@ -134,10 +139,12 @@ export default function ChowderContainer() {
     },
     onSuccess: (result, _vars, context) => {
       // Replace optimistic with server result
-      queryClient.setQueryData<SavedChowderAnalysis[] | undefined>(
+      queryClient.setQueryData<SavedPages<SavedChowderAnalysis> | undefined>(
         ['savedChowderAnalyses'],
         (old) =>
-          old?.map((a) => (a.id === context?.tempId ? result : a)) || [result],
+          updateSaved(old, (items) =>
+            items.map((a) => (a.id === context?.tempId ? result : a)),
+          ),
       )
       setSaveSuccess(true)
       setTimeout(() => setSaveSuccess(false), 3000)
@@ -9,6 +9,11 @@ import {
   type SavedDdmAnalysis,
 } from '../../../services/api'
 import { ddmCalculator } from '../../../utils/calculations'
+import {
+  prependSaved,
+  updateSaved,
+  type SavedPages,
+} from '../../../utils/savedPages'
 import MetricRow from '../../calculators/shared/MetricRow'
 import FormulaBlock from '../../calculators/shared/FormulaBlock'
 import Card from '../../shared/Card'
@@ -98,9 +103,9 @@ export default function DDMContainer() {
       setSaveError(null)
       setSaveSuccess(false)
       await queryClient.cancelQueries({ queryKey: ['savedDdmAnalyses'] })
-      const previous = queryClient.getQueryData<SavedDdmAnalysis[]>([
-        'savedDdmAnalyses',
-      ])
+      const previous = queryClient.getQueryData<
+        SavedPages<SavedDdmAnalysis>
+      >(['savedDdmAnalyses'])
       const optimistic: SavedDdmAnalysis = {
         id: -Date.now(),
         symbol: saveData.symbol,
@@ -113,9 +118,9 @@ export default function DDMContainer() {
         isUndervalued: saveData.isUndervalued,
         createdAt: new Date().toISOString(),
       }
-      queryClient.setQueryData<SavedDdmAnalysis[] | undefined>(
+      queryClient.setQueryData<SavedPages<SavedDdmAnalysis> | undefined>(
         ['savedDdmAnalyses'],
-        (old) => (old ? [optimistic, ...old] : [optimistic]),
+        (old) => prependSaved(old, optimistic),
       )
       return { previous, tempId: optimistic.id }
     },
@@ -129,10 +134,12 @@ export default function DDMContainer() {
     },
     onSuccess: (result, _vars, context) => {
       // Replace optimistic with server result
-      queryClient.setQueryData<SavedDdmAnalysis[] | undefined>(
+      queryClient.setQueryData<SavedPages<SavedDdmAnalysis> | undefined>(
         ['savedDdmAnalyses'],
         (old) =>
-          old?.map((a) => (a.id === context?.tempId ? result : a)) || [result],
+          updateSaved(old, (items) =>
+            items.map((a) => (a.id === context?.tempId ? result : a)),
+          ),
       )
       setSaveSuccess(true)
       setTimeout(() => setSaveSuccess(false), 3000)
@@ -1,7 +1,11 @@
 import { useState, useEffect } from 'react'
 import { useTranslation } from 'react-i18next'
 import { useAuth } from '@clerk/clerk-react'
-import { useMutation, useQuery, useQueryClient } from '@tanstack/react-query'
+import {
+  useInfiniteQuery,
+  useMutation,
+  useQueryClient,
+} from '@tanstack/react-query'
 import { Loader2, Trash2, Calendar } from 'lucide-react'
 import Card from '../shared/Card'
 import {
@@ -9,6 +13,7 @@ import {
   deleteSavedDdmAnalysis,
   type SavedDdmAnalysis,
 } from '../../services/api'
+import { updateSaved, type SavedPages } from '../../utils/savedPages'
 
 export default function SavedDdmList() {
   const { t } = useTranslation()
@@ -16,21 +21,28 @@ export default function SavedDdmList() {
   const { isSignedIn, isLoaded, getToken } = useAuth()
   const queryClient = useQueryClient()
 
+  // One page at a time; older analyses are loaded on request
   const {
-    data: analyses,
+    data,
     isLoading,
     error,
-  } = useQuery({
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
     queryKey: ['savedDdmAnalyses'],
-    queryFn: async () => {
+    queryFn: async ({ pageParam }) => {
       const token = await getToken()
       if (!token) {
         throw new Error('Not authenticated')
       }
-      return fetchSavedDdmAnalyses(token)
+      return fetchSavedDdmAnalyses(token, pageParam)
     },
+    initialPageParam: null as string | null,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
     enabled: isSignedIn && isLoaded,
   })
+  const analyses = data?.pages.flatMap((page) => page.items)
 
   // Show cold start message after 3 seconds of loading
   useEffect(() => {
@@ -54,12 +66,13 @@ export default function SavedDdmList() {
     // Optimistic update
     onMutate: async (id: number) => {
       await queryClient.cancelQueries({ queryKey: ['savedDdmAnalyses'] })
-      const previous = queryClient.getQueryData<SavedDdmAnalysis[]>([
+      const previous = queryClient.getQueryData<SavedPages<SavedDdmAnalysis>>([
         'savedDdmAnalyses',
       ])
-      queryClient.setQueryData<SavedDdmAnalysis[] | undefined>(
+      queryClient.setQueryData<SavedPages<SavedDdmAnalysis> | undefined>(
         ['savedDdmAnalyses'],
-        (old) => old?.filter((a) => a.id !== id),
+        (old) =>
+          updateSaved(old, (items) => items.filter((a) => a.id !== id)),
       )
       return { previous }
     },
@@ -250,6 +263,25 @@ export default function SavedDdmList() {
           ))}
         </div>
       )}
+
+      {!error && hasNextPage && (
+        <div className="flex justify-center mt-4">
+          <button
+            onClick={() => fetchNextPage()}
+            disabled={isFetchingNextPage}
+            className="px-4 py-2 text-sm font-medium rounded-lg border transition-colors disabled:opacity-50 disabled:cursor-not-allowed flex items-center gap-2"
+            style={{
+              color: 'var(--text-primary)',
+              borderColor: 'var(--border-color)',
+            }}
+          >
+            {isFetchingNextPage && (
+              <Loader2 size={16} className="animate-spin" />
+            )}
+            {t('saved.loadMore')}
+          </button>
+        </div>
+      )}
     </div>
   )
 }
@@ -633,6 +633,7 @@ export const en = {
     loadError: 'Failed to load analyses',
     noChowderAnalyses: 'No saved Chowder analyses found.',
     noDdmAnalyses: 'No saved DDM analyses found.',
+    loadMore: 'Load more',
     deleteAnalysis: 'Delete analysis',
     coldStartMessage:
       'Backend server is waking up from standby mode. This may take a few extra seconds...',
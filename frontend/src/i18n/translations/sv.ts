@@ -650,6 +650,7 @@ export const sv = {
     loadError: 'Misslyckades med att ladda analyser',
     noChowderAnalyses: 'Inga sparade Chowder-analyser hittades.',
     noDdmAnalyses: 'Inga sparade DDM-analyser hittades.',
+    loadMore: 'Visa fler',
     deleteAnalysis: 'Ta bort analys',
     coldStartMessage:
       'Backend-servern vaknar från viloläge. Detta kan ta några extra sekunder...',
@@ -272,6 +272,54 @@ async function authenticatedFetch(
   })
 }
 
+/**
+ * Page size used when reading saved analyses; the backend's default
+ */
+const SAVED_PAGE_SIZE = 50
+
+/**
+ * One page of a saved analyses list, newest first
+ */
+export interface SavedPage<T> {
+  items: T[]
+  /** Cursor for the next page; null on the last page */
+  nextCursor: string | null
+}
+
+/**
+ * Reads one page of a saved analyses list, starting after the given cursor
+ */
+async function fetchSavedPage<T>(
+  url: string,
+  token: string,
+  cursor: string | null,
+): Promise<SavedPage<T>> {
+  const params = new URLSearchParams({ limit: String(SAVED_PAGE_SIZE) })
+  if (cursor) {
+    params.set('cursor', cursor)
+  }
+
+  const response = await authenticatedFetch(
+    `${url}?${params}`,
+    {
+      method: 'GET',
+    },
+    token,
+  )
+
+  if (!response.ok) {
+    if (response.status === 401) {
+      throw new Error('Unauthorized - please sign in')
+    }
+    throw new Error(`Failed to fetch saved analyses: ${response.status}`)
+  }
+
+  return {
+    items: (await response.json()) as T[],
+    nextCursor: response.headers.get('X-Next-Cursor'),
+  }
+}
+
 /**
  * Saves a DDM analysis
  */
@@ -307,28 +355,18 @@ export async function saveDdmAnalysis(
 }
 
 /**
- * Fetches all saved DDM analyses for the current user
+ * Fetches one page of the current user's saved DDM analyses, newest first
  */
 export async function fetchSavedDdmAnalyses(
   token: string,
-): Promise<SavedDdmAnalysis[]> {
+  cursor: string | null = null,
+): Promise<SavedPage<SavedDdmAnalysis>> {
   try {
-    const response = await authenticatedFetch(
+    return await fetchSavedPage<SavedDdmAnalysis>(
       `${SAVED_API_BASE_URL}/ddm`,
-      {
-        method: 'GET',
-      },
       token,
+      cursor,
     )
-
-    if (!response.ok) {
-      if (response.status === 401) {
-        throw new Error('Unauthorized - please sign in')
-      }
-      throw new Error(`Failed to fetch saved analyses: ${response.status}`)
-    }
-
-    return await response.json()
   } catch (error) {
     if (error instanceof Error) {
       throw error
@@ -465,28 +503,18 @@ export async function saveChowderAnalysis(
 }
 
 /**
- * Fetches all saved Chowder analyses for the current user
+ * Fetches one page of the current user's saved Chowder analyses, newest first
  */
 export async function fetchSavedChowderAnalyses(
   token: string,
-): Promise<SavedChowderAnalysis[]> {
+  cursor: string | null = null,
+): Promise<SavedPage<SavedChowderAnalysis>> {
   try {
-    const response = await authenticatedFetch(
+    return await fetchSavedPage<SavedChowderAnalysis>(
       `${SAVED_API_BASE_URL}/chowder`,
-      {
-        method: 'GET',
-      },
       token,
+      cursor,
     )
-
-    if (!response.ok) {
-      if (response.status === 401) {
-        throw new Error('Unauthorized - please sign in')
-      }
-      throw new Error(`Failed to fetch saved analyses: ${response.status}`)
-    }
-
-    return await response.json()
   } catch (error) {
     if (error instanceof Error) {
       throw error
@@ -0,0 +1,39 @@
+import type { InfiniteData } from '@tanstack/react-query'
+import type { SavedPage } from '../services/api'
+
+/**
+ * Cached pages of a saved analyses list, as held by useInfiniteQuery
+ */
+export type SavedPages<T> = InfiniteData<SavedPage<T>, string | null>
+
+/**
+ * Adds an analysis to the top of the first loaded page; nothing is cached
+ * if no page has been loaded yet
+ */
+export const prependSaved = <T>(
+  data: SavedPages<T> | undefined,
+  item: T,
+): SavedPages<T> | undefined => {
+  if (!data || data.pages.length === 0) return data
+
+  const [first, ...rest] = data.pages
+  return {
+    ...data,
+    pages: [{ ...first, items: [item, ...first.items] }, ...rest],
+  }
+}
+
+/**
+ * Applies an update to the analyses of every loaded page
+ */
+export const updateSaved = <T>(
+  data: SavedPages<T> | undefined,
+  update: (items: T[]) => T[],
+): SavedPages<T> | undefined => {
+  if (!data) return data
+
+  return {
+    ...data,
+    pages: data.pages.map((page) => ({ ...page, items: update(page.items) })),
+  }
+}